@@ -0,0 +1,51 @@
+package saucedemo.uitesting.bindings;
+
+import org.openqa.selenium.SearchContext;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The version of the DOM displayed by one driver, as last reported by the page.
+ * The version changes when the page is replaced or when nodes are added to or removed from it.
+ * {@link LazyWebElement} and {@link LazyWebElementList} look their elements up again when the version changed
+ * since they cached them. The version is only as fresh as its last report; a handle that still goes stale
+ * in between is looked up again when the driver reports it.
+ */
+public class DomVersion {
+
+    private static final Map<SearchContext, DomVersion> VERSIONS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private volatile String documentVersion;
+    private volatile long generation;
+
+    /**
+     * Returns the DOM version of a driver, creating it the first time it is used.
+     *
+     * @param context the WebDriver instance
+     * @return the DOM version of the driver
+     */
+    public static DomVersion of(SearchContext context) {
+        return VERSIONS.computeIfAbsent(context, driver -> new DomVersion());
+    }
+
+    /**
+     * Records the version reported by the page. Cached elements are invalidated if it is not the last one.
+     *
+     * @param documentVersion the version reported by the page, identifying the document and its node changes
+     */
+    public void update(String documentVersion) {
+        if (!documentVersion.equals(this.documentVersion)) {
+            this.documentVersion = documentVersion;
+            generation++;
+        }
+    }
+
+    /**
+     * @return a number that changes every time a new version is reported
+     */
+    public long getGeneration() {
+        return generation;
+    }
+}
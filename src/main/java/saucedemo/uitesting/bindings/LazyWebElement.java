@@ -0,0 +1,213 @@
+package saucedemo.uitesting.bindings;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A WebElement bound to a page-object field by the generated page bindings.
+ * The element is looked up the first time it is used, like the proxies created by PageFactory,
+ * but with a plain class instead of a dynamic proxy, and the handle is cached for the next uses.
+ * The handle is looked up again when the {@link DomVersion} of the driver changed, or once when a command
+ * fails with a StaleElementReferenceException.
+ */
+public class LazyWebElement implements WebElement, WrapsElement, Locatable {
+
+    private final SearchContext context;
+    private final By locator;
+    private final DomVersion domVersion;
+    private WebElement element;
+    private long elementGeneration;
+
+    /**
+     * Constructor to set the search context and the locator of the element.
+     *
+     * @param context    the search context, usually the WebDriver instance
+     * @param locator    the locator for the element
+     * @param domVersion the DOM version of the driver, invalidating the cached handle
+     */
+    public LazyWebElement(SearchContext context, By locator, DomVersion domVersion) {
+        this.context = context;
+        this.locator = locator;
+        this.domVersion = domVersion;
+    }
+
+    @Override
+    public WebElement getWrappedElement() {
+        return handle(false);
+    }
+
+    private WebElement handle(boolean stale) {
+        long generation = domVersion.getGeneration();
+        if (stale || element == null || elementGeneration != generation) {
+            element = lookUp(stale);
+            elementGeneration = generation;
+        }
+        return element;
+    }
+
+    /**
+     * Looks the element up in the search context.
+     *
+     * @param stale whether the previous handle went stale
+     * @return the handle of the element
+     */
+    WebElement lookUp(boolean stale) {
+        return context.findElement(locator);
+    }
+
+    /**
+     * Runs a command on the cached handle, looking the element up again if the handle went stale.
+     */
+    private <T> T call(Function<WebElement, T> command) {
+        try {
+            return command.apply(handle(false));
+        } catch (StaleElementReferenceException e) {
+            return command.apply(handle(true));
+        }
+    }
+
+    @Override
+    public Coordinates getCoordinates() {
+        return call(handle -> ((Locatable) handle).getCoordinates());
+    }
+
+    @Override
+    public void click() {
+        call(handle -> {
+            handle.click();
+            return null;
+        });
+    }
+
+    @Override
+    public void submit() {
+        call(handle -> {
+            handle.submit();
+            return null;
+        });
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        call(handle -> {
+            handle.sendKeys(keysToSend);
+            return null;
+        });
+    }
+
+    @Override
+    public void clear() {
+        call(handle -> {
+            handle.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public String getTagName() {
+        return call(WebElement::getTagName);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return call(handle -> handle.getDomProperty(name));
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return call(handle -> handle.getDomAttribute(name));
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return call(handle -> handle.getAttribute(name));
+    }
+
+    @Override
+    public String getAriaRole() {
+        return call(WebElement::getAriaRole);
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return call(WebElement::getAccessibleName);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return call(WebElement::isSelected);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return call(WebElement::isEnabled);
+    }
+
+    @Override
+    public String getText() {
+        return call(WebElement::getText);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return call(handle -> handle.findElements(by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return call(handle -> handle.findElement(by));
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return call(WebElement::getShadowRoot);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return call(WebElement::isDisplayed);
+    }
+
+    @Override
+    public Point getLocation() {
+        return call(WebElement::getLocation);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return call(WebElement::getSize);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return call(WebElement::getRect);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return call(handle -> handle.getCssValue(propertyName));
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) throws WebDriverException {
+        return call(handle -> handle.getScreenshotAs(target));
+    }
+
+    @Override
+    public String toString() {
+        return "Lazy element for: " + locator;
+    }
+}
@@ -0,0 +1,98 @@
+package saucedemo.uitesting.bindings;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A list of WebElements bound to a page-object field by the generated page bindings.
+ * The elements are looked up the first time the list is used, like the proxies created by PageFactory,
+ * and the handles are cached until the {@link DomVersion} of the driver changes, since any node added
+ * or removed may change the list.
+ * The list returns {@link LazyWebElement}s, so a command on an element whose handle went stale looks
+ * the list up again once and runs on the element now at the same index.
+ */
+public class LazyWebElementList extends AbstractList<WebElement> {
+
+    private final SearchContext context;
+    private final By locator;
+    private final DomVersion domVersion;
+    private List<WebElement> elements;
+    private long elementsGeneration;
+
+    /**
+     * Constructor to set the search context and the locator of the elements.
+     *
+     * @param context    the search context, usually the WebDriver instance
+     * @param locator    the locator for the elements
+     * @param domVersion the DOM version of the driver, invalidating the cached handles
+     */
+    public LazyWebElementList(SearchContext context, By locator, DomVersion domVersion) {
+        this.context = context;
+        this.locator = locator;
+        this.domVersion = domVersion;
+    }
+
+    private List<WebElement> elements() {
+        long generation = domVersion.getGeneration();
+        if (elements == null || elementsGeneration != generation) {
+            elements = Collections.unmodifiableList(context.findElements(locator));
+            elementsGeneration = generation;
+        }
+        return elements;
+    }
+
+    @Override
+    public WebElement get(int index) {
+        Objects.checkIndex(index, elements().size());
+        return new Element(index);
+    }
+
+    @Override
+    public int size() {
+        return elements().size();
+    }
+
+    @Override
+    public String toString() {
+        return "Lazy element list for: " + locator;
+    }
+
+    /**
+     * An element of the list, looked up by its index in the cached handles of the list.
+     */
+    private final class Element extends LazyWebElement {
+
+        private final int index;
+
+        private Element(int index) {
+            super(context, locator, domVersion);
+            this.index = index;
+        }
+
+        @Override
+        WebElement lookUp(boolean stale) {
+            if (stale) {
+                // The other handles of the list are most likely stale too
+                elements = null;
+            }
+            List<WebElement> handles = elements();
+            if (index >= handles.size()) {
+                throw new NoSuchElementException("Cannot locate element " + index + " of " + handles.size()
+                        + " for: " + locator);
+            }
+            return handles.get(index);
+        }
+
+        @Override
+        public String toString() {
+            return "Lazy element " + index + " of: " + locator;
+        }
+    }
+}
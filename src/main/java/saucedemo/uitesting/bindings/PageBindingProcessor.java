@@ -0,0 +1,193 @@
+package saucedemo.uitesting.bindings;
+
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.How;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor generating a binding class for every class with @FindBy fields.
+ * For a page object named LoginPage it generates, in the same package:
+ * <pre>
+ * final class LoginPage_Binding {
+ *     static void bind(LoginPage page, SearchContext context, DomVersion domVersion) {
+ *         page.usernameField = new LazyWebElement(context, By.id("user-name"), domVersion);
+ *         ...
+ *     }
+ * }
+ * </pre>
+ * The page object calls {@code LoginPage_Binding.bind(this, driver, domVersion)} instead of PageFactory.initElements,
+ * so binding the fields is a few plain assignments, without reflection or dynamic proxies.
+ * The fields must be of type WebElement or List&lt;WebElement&gt; and must not be private, static or final.
+ */
+@SupportedAnnotationTypes("org.openqa.selenium.support.FindBy")
+public class PageBindingProcessor extends AbstractProcessor {
+
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+    private static final String WEB_ELEMENT_LIST = "java.util.List<org.openqa.selenium.WebElement>";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, List<VariableElement>> fieldsByType = new LinkedHashMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(FindBy.class)) {
+            if (element.getKind() != ElementKind.FIELD) {
+                continue;
+            }
+            VariableElement field = (VariableElement) element;
+            if (isBindable(field)) {
+                fieldsByType.computeIfAbsent((TypeElement) field.getEnclosingElement(), type -> new ArrayList<>())
+                        .add(field);
+            }
+        }
+
+        for (Map.Entry<TypeElement, List<VariableElement>> type : fieldsByType.entrySet()) {
+            writeBinding(type.getKey(), type.getValue());
+        }
+        return true;
+    }
+
+    private boolean isBindable(VariableElement field) {
+        if (field.getModifiers().contains(Modifier.PRIVATE)
+                || field.getModifiers().contains(Modifier.STATIC)
+                || field.getModifiers().contains(Modifier.FINAL)) {
+            error(field, "@FindBy fields must not be private, static or final to be bound");
+            return false;
+        }
+        String fieldType = field.asType().toString();
+        if (!WEB_ELEMENT.equals(fieldType) && !WEB_ELEMENT_LIST.equals(fieldType)) {
+            error(field, "@FindBy fields must be of type WebElement or List<WebElement>, found " + fieldType);
+            return false;
+        }
+        if (field.getEnclosingElement().getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            error(field, "@FindBy fields are only bound in top-level classes");
+            return false;
+        }
+        return true;
+    }
+
+    private void writeBinding(TypeElement type, List<VariableElement> fields) {
+        String packageName = ((PackageElement) type.getEnclosingElement()).getQualifiedName().toString();
+        String pageName = type.getSimpleName().toString();
+        String bindingName = pageName + "_Binding";
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import org.openqa.selenium.By;\n")
+                .append("import org.openqa.selenium.SearchContext;\n")
+                .append("import saucedemo.uitesting.bindings.DomVersion;\n")
+                .append("import saucedemo.uitesting.bindings.LazyWebElement;\n")
+                .append("import saucedemo.uitesting.bindings.LazyWebElementList;\n\n")
+                .append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("final class ").append(bindingName).append(" {\n\n")
+                .append("    private ").append(bindingName).append("() {\n")
+                .append("    }\n\n")
+                .append("    static void bind(").append(pageName).append(" page, SearchContext context, DomVersion domVersion) {\n");
+        for (VariableElement field : fields) {
+            String locator = locator(field);
+            if (locator == null) {
+                return;
+            }
+            String elementClass = WEB_ELEMENT.equals(field.asType().toString())
+                    ? "LazyWebElement" : "LazyWebElementList";
+            source.append("        page.").append(field.getSimpleName())
+                    .append(" = new ").append(elementClass).append("(context, ").append(locator).append(", domVersion);\n");
+        }
+        source.append("    }\n")
+                .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? bindingName : packageName + "." + bindingName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the Java expression creating the By of a @FindBy field, following the rules of PageFactory:
+     * either "how" and "using", or exactly one of the other attributes.
+     */
+    private String locator(VariableElement field) {
+        FindBy findBy = field.getAnnotation(FindBy.class);
+        if (findBy.how() != How.UNSET) {
+            return locator(findBy.how(), findBy.using());
+        }
+
+        Map<How, String> attributes = new LinkedHashMap<>();
+        putIfSet(attributes, How.ID, findBy.id());
+        putIfSet(attributes, How.NAME, findBy.name());
+        putIfSet(attributes, How.CLASS_NAME, findBy.className());
+        putIfSet(attributes, How.CSS, findBy.css());
+        putIfSet(attributes, How.TAG_NAME, findBy.tagName());
+        putIfSet(attributes, How.LINK_TEXT, findBy.linkText());
+        putIfSet(attributes, How.PARTIAL_LINK_TEXT, findBy.partialLinkText());
+        putIfSet(attributes, How.XPATH, findBy.xpath());
+        if (attributes.size() != 1) {
+            error(field, "@FindBy must set exactly one locator attribute, or how and using");
+            return null;
+        }
+        Map.Entry<How, String> attribute = attributes.entrySet().iterator().next();
+        return locator(attribute.getKey(), attribute.getValue());
+    }
+
+    private String locator(How how, String using) {
+        String value = processingEnv.getElementUtils().getConstantExpression(using);
+        switch (how) {
+            case ID:
+                return "By.id(" + value + ")";
+            case ID_OR_NAME:
+                return "new org.openqa.selenium.support.pagefactory.ByIdOrName(" + value + ")";
+            case NAME:
+                return "By.name(" + value + ")";
+            case CLASS_NAME:
+                return "By.className(" + value + ")";
+            case CSS:
+                return "By.cssSelector(" + value + ")";
+            case TAG_NAME:
+                return "By.tagName(" + value + ")";
+            case LINK_TEXT:
+                return "By.linkText(" + value + ")";
+            case PARTIAL_LINK_TEXT:
+                return "By.partialLinkText(" + value + ")";
+            case XPATH:
+                return "By.xpath(" + value + ")";
+            default:
+                throw new IllegalArgumentException("Unsupported locator strategy: " + how);
+        }
+    }
+
+    private static void putIfSet(Map<How, String> attributes, How how, String value) {
+        if (!value.isEmpty()) {
+            attributes.put(how, value);
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
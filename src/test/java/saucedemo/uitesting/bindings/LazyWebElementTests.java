@@ -0,0 +1,124 @@
+package saucedemo.uitesting.bindings;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * This class contains unit tests of the stale element retry of LazyWebElement and LazyWebElementList,
+ * run against a fake search context whose handles go stale when the page is re-rendered, so no browser is needed.
+ */
+public class LazyWebElementTests {
+
+    private static final By ITEMS = By.className("inventory_item");
+
+    private final List<String> lookUps = new ArrayList<>();
+    private int renders;
+    private int itemCount = 3;
+
+    /**
+     * Test that a command on a stale list element looks the list up again once and runs on the new handle.
+     */
+    @Test
+    public void listElementIsRetriedOnceWhenStale() {
+        LazyWebElementList items = new LazyWebElementList(fakeContext(), ITEMS, new DomVersion());
+        WebElement item = items.get(1);
+
+        renders++;
+        String text = item.getText();
+
+        assertAll("Verify the retried list element",
+                () -> assertEquals("item 1 of render 1", text),
+                () -> assertEquals(List.of("findElements", "findElements"), lookUps),
+                () -> assertEquals("item 2 of render 1", items.get(2).getText(),
+                        "The other elements should use the handles looked up again")
+        );
+    }
+
+    /**
+     * Test that a list element that is no longer in the re-rendered list fails with its index.
+     */
+    @Test
+    public void removedListElementIsNotFound() {
+        LazyWebElementList items = new LazyWebElementList(fakeContext(), ITEMS, new DomVersion());
+        WebElement item = items.get(2);
+
+        renders++;
+        itemCount = 2;
+        NoSuchElementException exception = assertThrows(NoSuchElementException.class, item::getText);
+
+        assertEquals("Cannot locate element 2 of 2 for: " + ITEMS, exception.getMessage().split("\n")[0]);
+    }
+
+    /**
+     * Test that the coordinates of an element are read from a new handle when the cached one went stale.
+     */
+    @Test
+    public void coordinatesAreRetriedWhenStale() {
+        LazyWebElement item = new LazyWebElement(fakeContext(), By.id("item"), new DomVersion());
+        item.getText();
+
+        renders++;
+        Coordinates coordinates = item.getCoordinates();
+
+        assertAll("Verify the retried coordinates",
+                () -> assertEquals("item of render 1", coordinates.getAuxiliary()),
+                () -> assertEquals(List.of("findElement", "findElement"), lookUps)
+        );
+    }
+
+    private SearchContext fakeContext() {
+        return (SearchContext) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{SearchContext.class},
+                (proxy, method, args) -> {
+                    lookUps.add(method.getName());
+                    if ("findElement".equals(method.getName())) {
+                        return fakeElement("item", renders);
+                    }
+                    List<WebElement> elements = new ArrayList<>();
+                    for (int i = 0; i < itemCount; i++) {
+                        elements.add(fakeElement("item " + i, renders));
+                    }
+                    return elements;
+                });
+    }
+
+    /**
+     * Creates an element whose commands fail with a StaleElementReferenceException once the page is re-rendered.
+     */
+    private WebElement fakeElement(String name, int render) {
+        String text = name + " of render " + render;
+        return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebElement.class, Locatable.class},
+                (proxy, method, args) -> {
+                    if (render != renders) {
+                        throw new StaleElementReferenceException(text);
+                    }
+                    switch (method.getName()) {
+                        case "getText":
+                            return text;
+                        case "getCoordinates":
+                            return fakeCoordinates(text);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private Coordinates fakeCoordinates(String auxiliary) {
+        return (Coordinates) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Coordinates.class},
+                (proxy, method, args) -> auxiliary);
+    }
+}
@@ -0,0 +1,206 @@
+package saucedemo.uitesting.bindings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This class contains unit tests of the PageBindingProcessor, compiling in-memory page objects with the
+ * system Java compiler, so no browser is needed.
+ */
+public class PageBindingProcessorTests {
+
+    @TempDir
+    Path outputDirectory;
+
+    /**
+     * Test that a page object gets a binding assigning a lazy element to every @FindBy field.
+     */
+    @Test
+    public void generatesBinding() throws IOException {
+        Compilation compilation = compile("pages.LoginPage",
+                "package pages;\n"
+                + "import java.util.List;\n"
+                + "import org.openqa.selenium.WebElement;\n"
+                + "import org.openqa.selenium.support.FindBy;\n"
+                + "import org.openqa.selenium.support.How;\n"
+                + "public class LoginPage {\n"
+                + "    @FindBy(id = \"user-name\") WebElement usernameField;\n"
+                + "    @FindBy(css = \"input[data-test=\\\"password\\\"]\") protected WebElement passwordField;\n"
+                + "    @FindBy(how = How.XPATH, using = \"//h3\") public WebElement errorMessage;\n"
+                + "    @FindBy(className = \"inventory_item\") List<WebElement> items;\n"
+                + "}\n");
+
+        assertTrue(compilation.success, "The page object should compile: " + compilation.errors);
+        String binding = compilation.generatedSource("pages/LoginPage_Binding.java");
+        assertAll("Verify the generated binding",
+                () -> assertTrue(binding.startsWith("package pages;\n")),
+                () -> assertTrue(binding.contains("final class LoginPage_Binding {")),
+                () -> assertTrue(binding.contains(
+                        "static void bind(LoginPage page, SearchContext context, DomVersion domVersion) {")),
+                () -> assertTrue(binding.contains(
+                        "page.usernameField = new LazyWebElement(context, By.id(\"user-name\"), domVersion);")),
+                () -> assertTrue(binding.contains("page.passwordField = new LazyWebElement(context, "
+                        + "By.cssSelector(\"input[data-test=\\\"password\\\"]\"), domVersion);")),
+                () -> assertTrue(binding.contains(
+                        "page.errorMessage = new LazyWebElement(context, By.xpath(\"//h3\"), domVersion);")),
+                () -> assertTrue(binding.contains("page.items = new LazyWebElementList(context, "
+                        + "By.className(\"inventory_item\"), domVersion);"))
+        );
+    }
+
+    /**
+     * Test that a private @FindBy field is a compile error, since the binding can't assign it.
+     */
+    @Test
+    public void privateFieldIsCompileError() throws IOException {
+        Compilation compilation = compilePage("@FindBy(id = \"user-name\") private WebElement usernameField;");
+
+        assertFalse(compilation.success);
+        assertEquals(Collections.singletonList("@FindBy fields must not be private, static or final to be bound"),
+                compilation.errors);
+    }
+
+    /**
+     * Test that a final @FindBy field is a compile error, since the binding can't assign it.
+     */
+    @Test
+    public void finalFieldIsCompileError() throws IOException {
+        Compilation compilation = compilePage("@FindBy(id = \"user-name\") final WebElement usernameField = null;");
+
+        assertFalse(compilation.success);
+        assertEquals(Collections.singletonList("@FindBy fields must not be private, static or final to be bound"),
+                compilation.errors);
+    }
+
+    /**
+     * Test that a @FindBy field of another type than WebElement or List&lt;WebElement&gt; is a compile error.
+     */
+    @Test
+    public void unsupportedTypeIsCompileError() throws IOException {
+        Compilation compilation = compilePage("@FindBy(id = \"user-name\") String usernameField;");
+
+        assertFalse(compilation.success);
+        assertEquals(Collections.singletonList(
+                "@FindBy fields must be of type WebElement or List<WebElement>, found java.lang.String"),
+                compilation.errors);
+    }
+
+    /**
+     * Test that a @FindBy with several locator attributes is a compile error, as PageFactory would reject it.
+     */
+    @Test
+    public void ambiguousLocatorIsCompileError() throws IOException {
+        Compilation compilation = compilePage("@FindBy(id = \"user-name\", name = \"user-name\") "
+                + "WebElement usernameField;");
+
+        assertFalse(compilation.success);
+        assertEquals(Collections.singletonList("@FindBy must set exactly one locator attribute, or how and using"),
+                compilation.errors);
+    }
+
+    private Compilation compilePage(String field) throws IOException {
+        return compile("pages.LoginPage",
+                "package pages;\n"
+                + "import org.openqa.selenium.WebElement;\n"
+                + "import org.openqa.selenium.support.FindBy;\n"
+                + "public class LoginPage {\n"
+                + "    " + field + "\n"
+                + "}\n");
+    }
+
+    /**
+     * Compiles a class with the PageBindingProcessor, the generated sources and classes go to the output directory.
+     */
+    private Compilation compile(String className, String source) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Path sourceOutput = Files.createDirectories(outputDirectory.resolve("sources"));
+        Path classOutput = Files.createDirectories(outputDirectory.resolve("classes"));
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null,
+                StandardCharsets.UTF_8)) {
+            fileManager.setLocationFromPaths(StandardLocation.CLASS_PATH, Arrays.asList(
+                    codeSource(FindBy.class), codeSource(WebElement.class), codeSource(PageBindingProcessor.class)));
+            fileManager.setLocationFromPaths(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(sourceOutput));
+            fileManager.setLocationFromPaths(StandardLocation.CLASS_OUTPUT, Collections.singletonList(classOutput));
+
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, null, null,
+                    Collections.singletonList(new InMemorySource(className, source)));
+            task.setProcessors(Collections.singletonList(new PageBindingProcessor()));
+            boolean success = task.call();
+
+            List<String> errors = diagnostics.getDiagnostics().stream()
+                    .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                    .map(diagnostic -> diagnostic.getMessage(null))
+                    .collect(Collectors.toList());
+            return new Compilation(success, errors, sourceOutput);
+        }
+    }
+
+    private static Path codeSource(Class<?> type) {
+        try {
+            return Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class InMemorySource extends SimpleJavaFileObject {
+
+        private final String source;
+
+        private InMemorySource(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    private static class Compilation {
+
+        private final boolean success;
+        private final List<String> errors;
+        private final Path sourceOutput;
+
+        private Compilation(boolean success, List<String> errors, Path sourceOutput) {
+            this.success = success;
+            this.errors = errors;
+            this.sourceOutput = sourceOutput;
+        }
+
+        private String generatedSource(String path) throws IOException {
+            return Files.readString(sourceOutput.resolve(path));
+        }
+    }
+}
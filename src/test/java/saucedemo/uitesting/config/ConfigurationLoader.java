@@ -5,6 +5,29 @@ package saucedemo.uitesting.config;
  */
 public class ConfigurationLoader {
 
+    private static volatile TestConfiguration configuration;
+
+    /**
+     * Returns the test configuration shared by all the tests of the JVM, loading it on first use.
+     * System properties don't change during a run, so they are read only once, even when tests run in parallel.
+     *
+     * @return the shared TestConfiguration instance
+     * @throws IllegalStateException if the required properties are not set
+     */
+    public static TestConfiguration getConfiguration() {
+        TestConfiguration config = configuration;
+        if (config == null) {
+            synchronized (ConfigurationLoader.class) {
+                config = configuration;
+                if (config == null) {
+                    config = loadConfiguration();
+                    configuration = config;
+                }
+            }
+        }
+        return config;
+    }
+
     /**
      * Reads the test configuration from system properties and returns a TestConfiguration instance.
      *
@@ -25,10 +48,154 @@ public class ConfigurationLoader {
             config.setHeadlessMode(Boolean.parseBoolean(headlessModeProperty));
         }
 
+        String driverModeProperty = System.getProperty("driverMode");
+        if (driverModeProperty != null) {
+            config.setDriverMode(driverModeProperty);
+        }
+
+        String driverPoolSizeProperty = System.getProperty("driverPoolSize");
+        if (driverPoolSizeProperty != null) {
+            config.setDriverPoolSize(Integer.parseInt(driverPoolSizeProperty));
+        }
+
+        String tabsPerBrowserProperty = System.getProperty("tabsPerBrowser");
+        if (tabsPerBrowserProperty != null) {
+            config.setTabsPerBrowser(Integer.parseInt(tabsPerBrowserProperty));
+        }
+
+        String chromeDriverPathProperty = System.getProperty("chromeDriverPath");
+        if (chromeDriverPathProperty != null) {
+            config.setChromeDriverPath(chromeDriverPathProperty);
+        }
+
+        String firefoxDriverPathProperty = System.getProperty("firefoxDriverPath");
+        if (firefoxDriverPathProperty != null) {
+            config.setFirefoxDriverPath(firefoxDriverPathProperty);
+        }
+
+        String driverCachePathProperty = System.getProperty("driverCachePath");
+        if (driverCachePathProperty != null) {
+            config.setDriverCachePath(driverCachePathProperty);
+        }
+
+        String offlineDriversProperty = System.getProperty("offlineDrivers");
+        if (offlineDriversProperty != null) {
+            config.setOfflineDrivers(Boolean.parseBoolean(offlineDriversProperty));
+        }
+
+        String screenshotModeProperty = System.getProperty("screenshotMode");
+        if (screenshotModeProperty != null) {
+            config.setScreenshotMode(screenshotModeProperty);
+        }
+
+        String screenshotPolicyProperty = System.getProperty("screenshotPolicy");
+        if (screenshotPolicyProperty != null) {
+            config.setScreenshotPolicy(screenshotPolicyProperty);
+        }
+
+        String screenshotBufferSizeProperty = System.getProperty("screenshotBufferSize");
+        if (screenshotBufferSizeProperty != null) {
+            config.setScreenshotBufferSize(Integer.parseInt(screenshotBufferSizeProperty));
+        }
+
+        String commandMetricsProperty = System.getProperty("commandMetrics");
+        if (commandMetricsProperty != null) {
+            config.setCommandMetrics(Boolean.parseBoolean(commandMetricsProperty));
+        }
+
+        String pagePerformanceProperty = System.getProperty("pagePerformance");
+        if (pagePerformanceProperty != null) {
+            config.setPagePerformance(Boolean.parseBoolean(pagePerformanceProperty));
+        }
+
+        String baseUrlProperty = System.getProperty("baseUrl");
+        if (baseUrlProperty != null) {
+            config.setBaseUrl(baseUrlProperty);
+        }
+
+        String saucedemoModeProperty = System.getProperty("saucedemoMode");
+        if (saucedemoModeProperty != null) {
+            config.setSaucedemoMode(saucedemoModeProperty);
+        }
+
+        String saucedemoArchiveProperty = System.getProperty("saucedemoArchive");
+        if (saucedemoArchiveProperty != null) {
+            config.setSaucedemoArchive(saucedemoArchiveProperty);
+        }
+
+        String quietWindowMillisProperty = System.getProperty("quietWindowMillis");
+        if (quietWindowMillisProperty != null) {
+            config.setQuietWindowMillis(Integer.parseInt(quietWindowMillisProperty));
+        }
+
+        String shardIndexProperty = System.getProperty("shardIndex");
+        if (shardIndexProperty != null) {
+            config.setShardIndex(Integer.parseInt(shardIndexProperty));
+        }
+
+        String shardCountProperty = System.getProperty("shardCount");
+        if (shardCountProperty != null) {
+            config.setShardCount(Integer.parseInt(shardCountProperty));
+        }
+
+        String loadUsersProperty = System.getProperty("loadUsers");
+        if (loadUsersProperty != null) {
+            config.setLoadUsers(Integer.parseInt(loadUsersProperty));
+        }
+
+        String loadDurationSecondsProperty = System.getProperty("loadDurationSeconds");
+        if (loadDurationSecondsProperty != null) {
+            config.setLoadDurationSeconds(Integer.parseInt(loadDurationSecondsProperty));
+        }
+
+        String loadIterationsProperty = System.getProperty("loadIterations");
+        if (loadIterationsProperty != null) {
+            config.setLoadIterations(Integer.parseInt(loadIterationsProperty));
+        }
+
+        String loadRampUpSecondsProperty = System.getProperty("loadRampUpSeconds");
+        if (loadRampUpSecondsProperty != null) {
+            config.setLoadRampUpSeconds(Integer.parseInt(loadRampUpSecondsProperty));
+        }
+
+        String loadThinkTimeMillisProperty = System.getProperty("loadThinkTimeMillis");
+        if (loadThinkTimeMillisProperty != null) {
+            config.setLoadThinkTimeMillis(Integer.parseInt(loadThinkTimeMillisProperty));
+        }
+
+        String benchmarkPersonasProperty = System.getProperty("benchmarkPersonas");
+        if (benchmarkPersonasProperty != null) {
+            config.setBenchmarkPersonas(benchmarkPersonasProperty);
+        }
+
+        String benchmarkIterationsProperty = System.getProperty("benchmarkIterations");
+        if (benchmarkIterationsProperty != null) {
+            config.setBenchmarkIterations(Integer.parseInt(benchmarkIterationsProperty));
+        }
+
+        String benchmarkWarmupIterationsProperty = System.getProperty("benchmarkWarmupIterations");
+        if (benchmarkWarmupIterationsProperty != null) {
+            config.setBenchmarkWarmupIterations(Integer.parseInt(benchmarkWarmupIterationsProperty));
+        }
+
+        String benchmarkThresholdPercentProperty = System.getProperty("benchmarkThresholdPercent");
+        if (benchmarkThresholdPercentProperty != null) {
+            config.setBenchmarkThresholdPercent(Integer.parseInt(benchmarkThresholdPercentProperty));
+        }
+
+        String inputStrategyProperty = System.getProperty("inputStrategy");
+        if (inputStrategyProperty != null) {
+            config.setInputStrategy(inputStrategyProperty);
+        }
+
         // Validate the configuration
         if (config.getBrowser() == null) {
             throw new IllegalStateException("Browser property must be set as a system property");
         }
+        if (config.getShardIndex() >= config.getShardCount()) {
+            throw new IllegalStateException("Shard index " + config.getShardIndex()
+                    + " must be lower than the shard count " + config.getShardCount());
+        }
 
         return config;
     }
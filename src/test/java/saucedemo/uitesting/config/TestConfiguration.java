@@ -1,12 +1,43 @@
 package saucedemo.uitesting.config;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Represents the test configuration that is loaded from system properties.
- * Contains the browser and headlessMode properties.
+ * Contains the browser, headlessMode and driver lifecycle properties.
  */
 public class TestConfiguration {
     private String browser;
     private boolean headlessMode;
+    private String driverMode = "fresh";
+    private int driverPoolSize = 4;
+    private int tabsPerBrowser = 3;
+    private String chromeDriverPath;
+    private String firefoxDriverPath;
+    private String driverCachePath = System.getProperty("user.home") + "/.cache/selenium";
+    private boolean offlineDrivers;
+    private String screenshotMode = "auto";
+    private String screenshotPolicy = "onFailure";
+    private int screenshotBufferSize = 10;
+    private boolean commandMetrics;
+    private boolean pagePerformance;
+    private volatile String baseUrl = "https://www.saucedemo.com/";
+    private String saucedemoMode = "live";
+    private String saucedemoArchive = "src/test/resources/saucedemo_archive";
+    private int quietWindowMillis = 100;
+    private int shardIndex = 0;
+    private int shardCount = 1;
+    private int loadUsers = 5;
+    private int loadDurationSeconds = 60;
+    private int loadIterations = 0;
+    private int loadRampUpSeconds = 10;
+    private int loadThinkTimeMillis = 1000;
+    private String benchmarkPersonas = "standard_user,performance_glitch_user,visual_user";
+    private int benchmarkIterations = 5;
+    private int benchmarkWarmupIterations = 1;
+    private int benchmarkThresholdPercent = 20;
+    private String inputStrategy = "sendKeys";
 
     // Getters and setters
 
@@ -49,6 +80,637 @@ public class TestConfiguration {
         this.headlessMode = headlessMode;
     }
 
+    /**
+     * Returns how WebDriver instances are handed out to the tests.
+     *
+     * @return the driver mode
+     */
+    public String getDriverMode() {
+        return driverMode;
+    }
+
+    /**
+     * Sets how WebDriver instances are handed out to the tests.
+     * The driver mode should be one of the following: "fresh" (a new browser per test),
+     * "pooled" (warm browsers are reused between tests) or "multiplexed" (isolated tabs of shared browsers).
+     *
+     * @param driverMode the driver mode to set
+     * @throws IllegalArgumentException if the driver mode is not supported
+     */
+    public void setDriverMode(String driverMode) {
+        if (driverMode == null || !driverMode.matches("fresh|pooled|multiplexed")) {
+            throw new IllegalArgumentException("Unsupported driver mode: " + driverMode +
+                    "\n Supported driver modes: fresh|pooled|multiplexed ");
+        }
+        this.driverMode = driverMode;
+    }
+
+    /**
+     * Returns whether warm drivers are reused between tests.
+     *
+     * @return true if the driver mode is "pooled", false otherwise
+     */
+    public boolean isDriverPoolEnabled() {
+        return "pooled".equals(driverMode);
+    }
+
+    /**
+     * Returns the maximum number of idle drivers kept per browser and headless mode.
+     *
+     * @return the driver pool size
+     */
+    public int getDriverPoolSize() {
+        return driverPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of idle drivers kept per browser and headless mode.
+     *
+     * @param driverPoolSize the driver pool size, must be greater than 0
+     * @throws IllegalArgumentException if the pool size is not positive
+     */
+    public void setDriverPoolSize(int driverPoolSize) {
+        if (driverPoolSize < 1) {
+            throw new IllegalArgumentException("Driver pool size must be greater than 0: " + driverPoolSize);
+        }
+        this.driverPoolSize = driverPoolSize;
+    }
+
+    /**
+     * Returns whether the tests get isolated tabs of shared browsers.
+     *
+     * @return true if the driver mode is "multiplexed", false otherwise
+     */
+    public boolean isDriverMultiplexed() {
+        return "multiplexed".equals(driverMode);
+    }
+
+    /**
+     * Returns the maximum number of tabs open at the same time in one shared browser.
+     *
+     * @return the number of tabs per browser
+     */
+    public int getTabsPerBrowser() {
+        return tabsPerBrowser;
+    }
+
+    /**
+     * Sets the maximum number of tabs open at the same time in one shared browser in "multiplexed" mode.
+     *
+     * @param tabsPerBrowser the number of tabs per browser, must be greater than 0
+     * @throws IllegalArgumentException if the number of tabs is not positive
+     */
+    public void setTabsPerBrowser(int tabsPerBrowser) {
+        if (tabsPerBrowser < 1) {
+            throw new IllegalArgumentException("Tabs per browser must be greater than 0: " + tabsPerBrowser);
+        }
+        this.tabsPerBrowser = tabsPerBrowser;
+    }
+
+    /**
+     * Returns the path of a pre-provisioned chromedriver binary.
+     *
+     * @return the chromedriver path, or null if the driver should be resolved automatically
+     */
+    public String getChromeDriverPath() {
+        return chromeDriverPath;
+    }
+
+    /**
+     * Pins a pre-provisioned chromedriver binary, skipping driver resolution.
+     *
+     * @param chromeDriverPath the chromedriver path to set
+     */
+    public void setChromeDriverPath(String chromeDriverPath) {
+        this.chromeDriverPath = chromeDriverPath;
+    }
+
+    /**
+     * Returns the path of a pre-provisioned geckodriver binary.
+     *
+     * @return the geckodriver path, or null if the driver should be resolved automatically
+     */
+    public String getFirefoxDriverPath() {
+        return firefoxDriverPath;
+    }
+
+    /**
+     * Pins a pre-provisioned geckodriver binary, skipping driver resolution.
+     *
+     * @param firefoxDriverPath the geckodriver path to set
+     */
+    public void setFirefoxDriverPath(String firefoxDriverPath) {
+        this.firefoxDriverPath = firefoxDriverPath;
+    }
+
+    /**
+     * Returns the directory where driver binaries are downloaded and looked up.
+     *
+     * @return the driver cache path
+     */
+    public String getDriverCachePath() {
+        return driverCachePath;
+    }
+
+    /**
+     * Sets the directory where driver binaries are downloaded and looked up.
+     *
+     * @param driverCachePath the driver cache path to set
+     */
+    public void setDriverCachePath(String driverCachePath) {
+        this.driverCachePath = driverCachePath;
+    }
+
+    /**
+     * Returns whether driver binaries are only looked up in the driver cache, without any network access.
+     *
+     * @return true if offline driver resolution is enabled, false otherwise
+     */
+    public boolean isOfflineDrivers() {
+        return offlineDrivers;
+    }
+
+    /**
+     * Sets whether driver binaries are only looked up in the driver cache, without any network access.
+     *
+     * @param offlineDrivers true to enable offline driver resolution, false to disable it
+     */
+    public void setOfflineDrivers(boolean offlineDrivers) {
+        this.offlineDrivers = offlineDrivers;
+    }
+
+    /**
+     * Returns how screenshots are captured.
+     *
+     * @return the screenshot mode
+     */
+    public String getScreenshotMode() {
+        return screenshotMode;
+    }
+
+    /**
+     * Sets how screenshots are captured.
+     * The screenshot mode should be one of the following: "auto" (native full-page screenshot of the browser),
+     * "cdp" (Chrome DevTools), "firefox" (Firefox full-page screenshot), "viewport" or "ashot".
+     *
+     * @param screenshotMode the screenshot mode to set
+     * @throws IllegalArgumentException if the screenshot mode is not supported
+     */
+    public void setScreenshotMode(String screenshotMode) {
+        if (screenshotMode == null || !screenshotMode.matches("auto|cdp|firefox|viewport|ashot")) {
+            throw new IllegalArgumentException("Unsupported screenshot mode: " + screenshotMode +
+                    "\n Supported screenshot modes: auto|cdp|firefox|viewport|ashot ");
+        }
+        this.screenshotMode = screenshotMode;
+    }
+
+    /**
+     * Returns when screenshots are attached to the Allure report.
+     *
+     * @return the screenshot policy
+     */
+    public String getScreenshotPolicy() {
+        return screenshotPolicy;
+    }
+
+    /**
+     * Sets when screenshots are attached to the Allure report.
+     * The screenshot policy should be one of the following: "onFailure" (only when the test fails or errors)
+     * or "always".
+     *
+     * @param screenshotPolicy the screenshot policy to set
+     * @throws IllegalArgumentException if the screenshot policy is not supported
+     */
+    public void setScreenshotPolicy(String screenshotPolicy) {
+        if (screenshotPolicy == null || !screenshotPolicy.matches("onFailure|always")) {
+            throw new IllegalArgumentException("Unsupported screenshot policy: " + screenshotPolicy +
+                    "\n Supported screenshot policies: onFailure|always ");
+        }
+        this.screenshotPolicy = screenshotPolicy;
+    }
+
+    /**
+     * Returns whether screenshots are attached to the Allure report only when the test fails.
+     *
+     * @return true if the screenshot policy is "onFailure", false otherwise
+     */
+    public boolean isScreenshotsOnFailureOnly() {
+        return "onFailure".equals(screenshotPolicy);
+    }
+
+    /**
+     * Returns how many of the latest screenshots of a test are kept in memory in "onFailure" policy.
+     *
+     * @return the screenshot buffer size
+     */
+    public int getScreenshotBufferSize() {
+        return screenshotBufferSize;
+    }
+
+    /**
+     * Sets how many of the latest screenshots of a test are kept in memory in "onFailure" policy.
+     * With 0 no screenshot is captured until the test fails, only the name of the latest one is kept.
+     *
+     * @param screenshotBufferSize the screenshot buffer size, must not be negative
+     * @throws IllegalArgumentException if the buffer size is negative
+     */
+    public void setScreenshotBufferSize(int screenshotBufferSize) {
+        if (screenshotBufferSize < 0) {
+            throw new IllegalArgumentException("Screenshot buffer size must not be negative: " + screenshotBufferSize);
+        }
+        this.screenshotBufferSize = screenshotBufferSize;
+    }
+
+    /**
+     * Returns whether the count and latency of every WebDriver command are recorded.
+     *
+     * @return true if command metrics are enabled, false otherwise
+     */
+    public boolean isCommandMetrics() {
+        return commandMetrics;
+    }
+
+    /**
+     * Sets whether the count and latency of every WebDriver command are recorded.
+     *
+     * @param commandMetrics true to enable command metrics, false to disable them
+     */
+    public void setCommandMetrics(boolean commandMetrics) {
+        this.commandMetrics = commandMetrics;
+    }
+
+    /**
+     * Returns whether the page objects record the browser performance data of every page.
+     *
+     * @return true if page performance recording is enabled, false otherwise
+     */
+    public boolean isPagePerformance() {
+        return pagePerformance;
+    }
+
+    /**
+     * Sets whether the page objects record the browser performance data of every page.
+     *
+     * @param pagePerformance true to enable page performance recording, false to disable it
+     */
+    public void setPagePerformance(boolean pagePerformance) {
+        this.pagePerformance = pagePerformance;
+    }
+
+    /**
+     * Returns the URL of the SauceDemo application used by all the page objects.
+     *
+     * @return the base URL, always ending with "/"
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Sets the URL of the SauceDemo application used by all the page objects.
+     *
+     * @param baseUrl the base URL to set
+     */
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    /**
+     * Returns where the SauceDemo application is served from.
+     *
+     * @return the saucedemo mode
+     */
+    public String getSaucedemoMode() {
+        return saucedemoMode;
+    }
+
+    /**
+     * Sets where the SauceDemo application is served from.
+     * The saucedemo mode should be one of the following: "live" (the base URL), "replay" (a local server
+     * replaying the recorded archive) or "record" (a local server recording missing assets from the live site).
+     *
+     * @param saucedemoMode the saucedemo mode to set
+     * @throws IllegalArgumentException if the saucedemo mode is not supported
+     */
+    public void setSaucedemoMode(String saucedemoMode) {
+        if (saucedemoMode == null || !saucedemoMode.matches("live|replay|record")) {
+            throw new IllegalArgumentException("Unsupported saucedemo mode: " + saucedemoMode +
+                    "\n Supported saucedemo modes: live|replay|record ");
+        }
+        this.saucedemoMode = saucedemoMode;
+    }
+
+    /**
+     * Returns the directory of the recorded SauceDemo assets.
+     *
+     * @return the saucedemo archive directory
+     */
+    public String getSaucedemoArchive() {
+        return saucedemoArchive;
+    }
+
+    /**
+     * Sets the directory of the recorded SauceDemo assets.
+     *
+     * @param saucedemoArchive the saucedemo archive directory to set
+     */
+    public void setSaucedemoArchive(String saucedemoArchive) {
+        this.saucedemoArchive = saucedemoArchive;
+    }
+
+    /**
+     * Returns how long a page must go without DOM mutations, network calls or animation frames to be ready.
+     *
+     * @return the quiet window in milliseconds
+     */
+    public int getQuietWindowMillis() {
+        return quietWindowMillis;
+    }
+
+    /**
+     * Sets how long a page must go without DOM mutations, network calls or animation frames to be ready.
+     *
+     * @param quietWindowMillis the quiet window in milliseconds, must not be negative
+     * @throws IllegalArgumentException if the quiet window is negative
+     */
+    public void setQuietWindowMillis(int quietWindowMillis) {
+        if (quietWindowMillis < 0) {
+            throw new IllegalArgumentException("Quiet window must not be negative: " + quietWindowMillis);
+        }
+        this.quietWindowMillis = quietWindowMillis;
+    }
+
+    /**
+     * Returns the shard of the data-driven test records run by this worker.
+     *
+     * @return the shard index, between 0 and shardCount - 1
+     */
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    /**
+     * Sets the shard of the data-driven test records run by this worker.
+     *
+     * @param shardIndex the shard index, must not be negative
+     * @throws IllegalArgumentException if the shard index is negative
+     */
+    public void setShardIndex(int shardIndex) {
+        if (shardIndex < 0) {
+            throw new IllegalArgumentException("Shard index must not be negative: " + shardIndex);
+        }
+        this.shardIndex = shardIndex;
+    }
+
+    /**
+     * Returns the number of workers sharing the data-driven test records.
+     *
+     * @return the shard count
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Sets the number of workers sharing the data-driven test records.
+     * Record i is run by the worker whose shard index is i % shardCount.
+     *
+     * @param shardCount the shard count, must be positive
+     * @throws IllegalArgumentException if the shard count is not positive
+     */
+    public void setShardCount(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * Returns the number of virtual users of the load test.
+     *
+     * @return the number of virtual users
+     */
+    public int getLoadUsers() {
+        return loadUsers;
+    }
+
+    /**
+     * Sets the number of virtual users of the load test.
+     *
+     * @param loadUsers the number of virtual users, must be positive
+     * @throws IllegalArgumentException if the value is not positive
+     */
+    public void setLoadUsers(int loadUsers) {
+        if (loadUsers < 1) {
+            throw new IllegalArgumentException("Load users must be positive: " + loadUsers);
+        }
+        this.loadUsers = loadUsers;
+    }
+
+    /**
+     * Returns how long the load test runs after the ramp-up, when no iteration count is set.
+     *
+     * @return the load test duration in seconds
+     */
+    public int getLoadDurationSeconds() {
+        return loadDurationSeconds;
+    }
+
+    /**
+     * Sets how long the load test runs after the ramp-up, when no iteration count is set.
+     *
+     * @param loadDurationSeconds the load test duration in seconds, must not be negative
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void setLoadDurationSeconds(int loadDurationSeconds) {
+        if (loadDurationSeconds < 0) {
+            throw new IllegalArgumentException("Load duration must not be negative: " + loadDurationSeconds);
+        }
+        this.loadDurationSeconds = loadDurationSeconds;
+    }
+
+    /**
+     * Returns how many times each virtual user of the load test runs the purchase flow, 0 to run for the load duration.
+     *
+     * @return the iteration count per virtual user
+     */
+    public int getLoadIterations() {
+        return loadIterations;
+    }
+
+    /**
+     * Sets how many times each virtual user of the load test runs the purchase flow, 0 to run for the load duration.
+     *
+     * @param loadIterations the iteration count per virtual user, must not be negative
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void setLoadIterations(int loadIterations) {
+        if (loadIterations < 0) {
+            throw new IllegalArgumentException("Load iterations must not be negative: " + loadIterations);
+        }
+        this.loadIterations = loadIterations;
+    }
+
+    /**
+     * Returns the time over which the virtual users of the load test are started, evenly spaced.
+     *
+     * @return the ramp-up time in seconds
+     */
+    public int getLoadRampUpSeconds() {
+        return loadRampUpSeconds;
+    }
+
+    /**
+     * Sets the time over which the virtual users of the load test are started, evenly spaced.
+     *
+     * @param loadRampUpSeconds the ramp-up time in seconds, must not be negative
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void setLoadRampUpSeconds(int loadRampUpSeconds) {
+        if (loadRampUpSeconds < 0) {
+            throw new IllegalArgumentException("Load ramp-up must not be negative: " + loadRampUpSeconds);
+        }
+        this.loadRampUpSeconds = loadRampUpSeconds;
+    }
+
+    /**
+     * Returns the pause of a virtual user between two steps of the purchase flow.
+     *
+     * @return the think time in milliseconds
+     */
+    public int getLoadThinkTimeMillis() {
+        return loadThinkTimeMillis;
+    }
+
+    /**
+     * Sets the pause of a virtual user between two steps of the purchase flow.
+     *
+     * @param loadThinkTimeMillis the think time in milliseconds, must not be negative
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void setLoadThinkTimeMillis(int loadThinkTimeMillis) {
+        if (loadThinkTimeMillis < 0) {
+            throw new IllegalArgumentException("Load think time must not be negative: " + loadThinkTimeMillis);
+        }
+        this.loadThinkTimeMillis = loadThinkTimeMillis;
+    }
+
+    /**
+     * Returns the SauceDemo users benchmarked by the persona benchmark.
+     *
+     * @return the usernames of the personas
+     */
+    public List<String> getBenchmarkPersonas() {
+        return Arrays.asList(benchmarkPersonas.split(","));
+    }
+
+    /**
+     * Sets the SauceDemo users benchmarked by the persona benchmark.
+     *
+     * @param benchmarkPersonas the usernames of the personas, separated by commas
+     * @throws IllegalArgumentException if no persona is set
+     */
+    public void setBenchmarkPersonas(String benchmarkPersonas) {
+        if (benchmarkPersonas == null || !benchmarkPersonas.matches("[\\w.-]+(,[\\w.-]+)*")) {
+            throw new IllegalArgumentException("Unsupported benchmark personas: " + benchmarkPersonas +
+                    "\n Supported benchmark personas: comma-separated usernames ");
+        }
+        this.benchmarkPersonas = benchmarkPersonas;
+    }
+
+    /**
+     * Returns how many measured times the persona benchmark runs the purchase flow for every persona.
+     *
+     * @return the measured iterations per persona
+     */
+    public int getBenchmarkIterations() {
+        return benchmarkIterations;
+    }
+
+    /**
+     * Sets how many measured times the persona benchmark runs the purchase flow for every persona.
+     *
+     * @param benchmarkIterations the measured iterations per persona, must be positive
+     * @throws IllegalArgumentException if the value is not positive
+     */
+    public void setBenchmarkIterations(int benchmarkIterations) {
+        if (benchmarkIterations < 1) {
+            throw new IllegalArgumentException("Benchmark iterations must be positive: " + benchmarkIterations);
+        }
+        this.benchmarkIterations = benchmarkIterations;
+    }
+
+    /**
+     * Returns how many times the persona benchmark runs the purchase flow for every persona before measuring.
+     *
+     * @return the discarded warm-up iterations per persona
+     */
+    public int getBenchmarkWarmupIterations() {
+        return benchmarkWarmupIterations;
+    }
+
+    /**
+     * Sets how many times the persona benchmark runs the purchase flow for every persona before measuring.
+     *
+     * @param benchmarkWarmupIterations the discarded warm-up iterations per persona, must not be negative
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void setBenchmarkWarmupIterations(int benchmarkWarmupIterations) {
+        if (benchmarkWarmupIterations < 0) {
+            throw new IllegalArgumentException("Benchmark warm-up iterations must not be negative: "
+                    + benchmarkWarmupIterations);
+        }
+        this.benchmarkWarmupIterations = benchmarkWarmupIterations;
+    }
+
+    /**
+     * Returns how much slower than its baseline the p95 latency of a step may be before the benchmark fails.
+     *
+     * @return the regression threshold in percent
+     */
+    public int getBenchmarkThresholdPercent() {
+        return benchmarkThresholdPercent;
+    }
+
+    /**
+     * Sets how much slower than its baseline the p95 latency of a step may be before the benchmark fails.
+     *
+     * @param benchmarkThresholdPercent the regression threshold in percent, must not be negative
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void setBenchmarkThresholdPercent(int benchmarkThresholdPercent) {
+        if (benchmarkThresholdPercent < 0) {
+            throw new IllegalArgumentException("Benchmark threshold must not be negative: "
+                    + benchmarkThresholdPercent);
+        }
+        this.benchmarkThresholdPercent = benchmarkThresholdPercent;
+    }
+
+    /**
+     * Returns how the page objects fill input fields.
+     *
+     * @return the input strategy
+     */
+    public String getInputStrategy() {
+        return inputStrategy;
+    }
+
+    /**
+     * Sets how the page objects fill input fields.
+     * The input strategy should be one of the following: "sendKeys" (typed through the driver, one character
+     * at a time) or "script" (all the fields of a form set with a single script execution).
+     *
+     * @param inputStrategy the input strategy to set
+     * @throws IllegalArgumentException if the input strategy is not supported
+     */
+    public void setInputStrategy(String inputStrategy) {
+        if (inputStrategy == null || !inputStrategy.matches("sendKeys|script")) {
+            throw new IllegalArgumentException("Unsupported input strategy: " + inputStrategy +
+                    "\n Supported input strategies: sendKeys|script ");
+        }
+        this.inputStrategy = inputStrategy;
+    }
+
     /**
      * Validates the browser to make sure it's one of the supported browsers.
      *
@@ -0,0 +1,104 @@
+package saucedemo.uitesting.extensions;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import saucedemo.uitesting.config.ConfigurationLoader;
+import saucedemo.uitesting.utils.CommandMetrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * JUnit 5 extension that records the WebDriver commands of each test when the "commandMetrics" configuration
+ * is enabled. The metrics are exported as JSON to target/command-metrics and attached to the Allure report.
+ * The test fails if a page-object operation sent more commands than allowed by command_budgets.json.
+ * A budget is the total number of commands the operation may send in one test, over all its invocations,
+ * so it must be sized to the test calling the operation the most. An operation is the outermost page-object method
+ * on the stack: the commands of a nested call count for the operation called by the test.
+ */
+public class CommandMetricsExtension implements BeforeEachCallback, AfterTestExecutionCallback {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Path EXPORT_DIRECTORY = Paths.get("target", "command-metrics");
+    private static final Map<String, Long> BUDGETS = loadBudgets();
+
+    /**
+     * Starts recording before any @BeforeEach method, so the test setup is measured as well.
+     */
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (ConfigurationLoader.getConfiguration().isCommandMetrics()) {
+            CommandMetrics.start();
+        }
+    }
+
+    /**
+     * Stops recording, exports the metrics and checks the command budgets.
+     */
+    @Override
+    public void afterTestExecution(ExtensionContext context) throws IOException {
+        CommandMetrics metrics = CommandMetrics.stop();
+        if (metrics == null) {
+            return;
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("test", testName(context));
+        report.putAll(metrics.toReport());
+        String json = OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+
+        Files.createDirectories(EXPORT_DIRECTORY);
+        Files.writeString(EXPORT_DIRECTORY.resolve(testName(context).replaceAll("[^A-Za-z0-9._-]", "_") + ".json"), json);
+        Allure.addAttachment("WebDriver command metrics", "application/json", json, ".json");
+
+        // A failed test already reports its own problem
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        List<String> exceededBudgets = new ArrayList<>();
+        for (Map.Entry<String, Long> budget : BUDGETS.entrySet()) {
+            long commandCount = metrics.getCommandCount(budget.getKey());
+            if (commandCount > budget.getValue()) {
+                exceededBudgets.add(budget.getKey() + " sent " + commandCount
+                        + " commands in this test, the per-test budget is " + budget.getValue());
+            }
+        }
+        if (!exceededBudgets.isEmpty()) {
+            fail("WebDriver command budget exceeded:\n" + String.join("\n", exceededBudgets));
+        }
+    }
+
+    private static String testName(ExtensionContext context) {
+        return context.getRequiredTestClass().getSimpleName() + "." + context.getDisplayName();
+    }
+
+    /**
+     * Loads the maximum number of commands allowed per page-object operation in one test, all invocations included.
+     */
+    private static Map<String, Long> loadBudgets() {
+        try (InputStream budgets = CommandMetricsExtension.class.getResourceAsStream("/command_budgets.json")) {
+            if (budgets == null) {
+                return Collections.emptyMap();
+            }
+            return OBJECT_MAPPER.readValue(budgets, new TypeReference<Map<String, Long>>() { });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package saucedemo.uitesting.extensions;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import saucedemo.uitesting.config.ConfigurationLoader;
+import saucedemo.uitesting.utils.PageTimeline;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * JUnit 5 extension that records the browser performance timeline of each test when the "pagePerformance"
+ * configuration is enabled. The timeline is attached to the Allure report as JSON, and the test fails if a page
+ * exceeds one of its budgets in page_budgets.json.
+ */
+public class PagePerformanceExtension implements BeforeEachCallback, AfterTestExecutionCallback {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Map<String, Map<String, Double>> BUDGETS = loadBudgets();
+
+    /**
+     * Starts recording before any @BeforeEach method, so pages displayed during the test setup are included.
+     */
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (ConfigurationLoader.getConfiguration().isPagePerformance()) {
+            PageTimeline.start();
+        }
+    }
+
+    /**
+     * Stops recording, attaches the timeline and checks the page budgets.
+     */
+    @Override
+    public void afterTestExecution(ExtensionContext context) throws IOException {
+        PageTimeline timeline = PageTimeline.stop();
+        if (timeline == null) {
+            return;
+        }
+
+        String json = OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(timeline.getSteps());
+        Allure.addAttachment("Page performance timeline", "application/json", json, ".json");
+
+        // A failed test already reports its own problem
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        List<String> exceededBudgets = new ArrayList<>();
+        for (PageTimeline.Step step : timeline.getSteps()) {
+            Map<String, Double> pageBudgets = BUDGETS.getOrDefault(step.getPage(), Collections.emptyMap());
+            for (Map.Entry<String, Double> budget : pageBudgets.entrySet()) {
+                Double value = step.getTimings().get(budget.getKey());
+                if (value != null && value > budget.getValue()) {
+                    exceededBudgets.add(step.getPage() + " " + budget.getKey() + " was " + value
+                            + ", budget is " + budget.getValue() + " (" + step.getUrl() + ")");
+                }
+            }
+        }
+        if (!exceededBudgets.isEmpty()) {
+            fail("Page performance budget exceeded:\n" + String.join("\n", exceededBudgets));
+        }
+    }
+
+    /**
+     * Loads the maximum value allowed per page and timing, e.g. the first contentful paint of InventoryPage.
+     */
+    private static Map<String, Map<String, Double>> loadBudgets() {
+        try (InputStream budgets = PagePerformanceExtension.class.getResourceAsStream("/page_budgets.json")) {
+            if (budgets == null) {
+                return Collections.emptyMap();
+            }
+            return OBJECT_MAPPER.readValue(budgets, new TypeReference<Map<String, Map<String, Double>>>() { });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
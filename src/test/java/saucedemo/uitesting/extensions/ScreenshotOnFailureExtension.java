@@ -0,0 +1,63 @@
+package saucedemo.uitesting.extensions;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.LifecycleMethodExecutionExceptionHandler;
+import saucedemo.uitesting.config.ConfigurationLoader;
+import saucedemo.uitesting.config.TestConfiguration;
+import saucedemo.uitesting.factories.DriverFactory;
+import saucedemo.uitesting.utils.ScreenshotUtils;
+
+/**
+ * JUnit 5 extension that attaches screenshots to the Allure report only when a test fails or errors.
+ * With the "onFailure" screenshot policy the screenshots of each test are kept in a small in-memory ring buffer.
+ * They are attached together with a screenshot of the failure state if the test or its setup fails,
+ * and dropped if the test passes. With the "always" policy screenshots are attached as they are taken.
+ */
+public class ScreenshotOnFailureExtension implements BeforeEachCallback, AfterTestExecutionCallback,
+        LifecycleMethodExecutionExceptionHandler, AfterEachCallback {
+
+    /**
+     * Starts buffering the screenshots of the test, runs before any @BeforeEach method.
+     */
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        TestConfiguration config = ConfigurationLoader.getConfiguration();
+        if (config.isScreenshotsOnFailureOnly()) {
+            ScreenshotUtils.startBuffering(config.getScreenshotBufferSize());
+        }
+    }
+
+    /**
+     * Writes or drops the buffered screenshots depending on the test outcome.
+     * Runs before any @AfterEach method, while the driver is still available.
+     */
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            ScreenshotUtils.writeBufferedScreenshots(DriverFactory.getCurrentDriver());
+        } else {
+            ScreenshotUtils.discardBufferedScreenshots();
+        }
+    }
+
+    /**
+     * Writes the buffered screenshots when a @BeforeEach method fails, the test itself won't run.
+     */
+    @Override
+    public void handleBeforeEachMethodExecutionException(ExtensionContext context, Throwable throwable)
+            throws Throwable {
+        ScreenshotUtils.writeBufferedScreenshots(DriverFactory.getCurrentDriver());
+        throw throwable;
+    }
+
+    /**
+     * Makes sure nothing stays buffered on the thread once the test is over.
+     */
+    @Override
+    public void afterEach(ExtensionContext context) {
+        ScreenshotUtils.discardBufferedScreenshots();
+    }
+}
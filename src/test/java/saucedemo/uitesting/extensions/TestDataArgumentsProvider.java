@@ -0,0 +1,75 @@
+package saucedemo.uitesting.extensions;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+import saucedemo.uitesting.config.ConfigurationLoader;
+import saucedemo.uitesting.config.TestConfiguration;
+import saucedemo.uitesting.models.TestData;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams the records of a {@link TestDataSource} data set with Jackson's streaming parser.
+ * Records are parsed one at a time, as JUnit asks for the next invocation, so only the current record is
+ * in memory. Record i is provided only if i % shardCount == shardIndex, so workers sharing a data set
+ * each run a disjoint slice of it.
+ */
+public class TestDataArgumentsProvider implements ArgumentsProvider, AnnotationConsumer<TestDataSource> {
+
+    private static final ObjectReader TEST_DATA_READER = new ObjectMapper().readerFor(TestData.class);
+
+    private String resource;
+
+    @Override
+    public void accept(TestDataSource testDataSource) {
+        resource = testDataSource.value();
+    }
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) throws IOException {
+        InputStream input = TestDataArgumentsProvider.class.getResourceAsStream("/" + resource);
+        if (input == null) {
+            throw new IllegalArgumentException("Test data set not found: " + resource);
+        }
+
+        TestConfiguration config = ConfigurationLoader.getConfiguration();
+        return readShard(input, config.getShardIndex(), config.getShardCount()).map(Arguments::of);
+    }
+
+    /**
+     * Streams the records of a data set that belong to a shard, parsed one at a time.
+     *
+     * @param input      the data set, either a JSON-lines file or a JSON array, closed with the stream
+     * @param shardIndex the index of the shard, from 0 to shardCount - 1
+     * @param shardCount the number of shards the data set is split into
+     * @return the records i such that i % shardCount == shardIndex, in the order of the data set
+     * @throws IOException if the data set can't be read
+     */
+    static Stream<TestData> readShard(InputStream input, int shardIndex, int shardCount) throws IOException {
+        // A JSON array is unwrapped, otherwise the root-level values are read one after the other
+        MappingIterator<TestData> records = TEST_DATA_READER.readValues(input);
+        AtomicLong recordIndex = new AtomicLong();
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED), false)
+                .filter(record -> recordIndex.getAndIncrement() % shardCount == shardIndex)
+                .onClose(() -> {
+                    try {
+                        records.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+}
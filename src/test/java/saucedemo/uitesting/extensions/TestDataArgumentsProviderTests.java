@@ -0,0 +1,119 @@
+package saucedemo.uitesting.extensions;
+
+import org.junit.jupiter.api.Test;
+import saucedemo.uitesting.models.TestData;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * This class contains unit tests of the TestDataArgumentsProvider, reading in-memory data sets,
+ * so no browser is needed.
+ */
+public class TestDataArgumentsProviderTests {
+
+    private static final int RECORDS = 7;
+
+    /**
+     * Test that every shard gets the records i such that i % shardCount == shardIndex, and that the shards
+     * together hold every record exactly once.
+     */
+    @Test
+    public void shardsAreDisjointSlices() throws IOException {
+        assertAll("Verify the shards of " + RECORDS + " records",
+                () -> assertEquals(Arrays.asList("0", "3", "6"), readFirstNames(jsonLines(), 0, 3)),
+                () -> assertEquals(Arrays.asList("1", "4"), readFirstNames(jsonLines(), 1, 3)),
+                () -> assertEquals(Arrays.asList("2", "5"), readFirstNames(jsonLines(), 2, 3))
+        );
+
+        List<String> allShards = new ArrayList<>();
+        for (int shardIndex = 0; shardIndex < 3; shardIndex++) {
+            allShards.addAll(readFirstNames(jsonLines(), shardIndex, 3));
+        }
+        allShards.sort(null);
+        assertEquals(readFirstNames(jsonLines(), 0, 1), allShards);
+    }
+
+    /**
+     * Test that a JSON array and a JSON-lines file with the same records give the same shards.
+     */
+    @Test
+    public void jsonArrayAndJsonLinesAreEquivalent() throws IOException {
+        assertAll("Verify the JSON array data set",
+                () -> assertEquals(readFirstNames(jsonLines(), 0, 1), readFirstNames(jsonArray(), 0, 1)),
+                () -> assertEquals(readFirstNames(jsonLines(), 1, 2), readFirstNames(jsonArray(), 1, 2))
+        );
+    }
+
+    /**
+     * Test that every field of a record is mapped to the TestData argument.
+     */
+    @Test
+    public void recordsAreMapped() throws IOException {
+        try (Stream<TestData> records = TestDataArgumentsProvider.readShard(jsonLines(), 0, RECORDS)) {
+            TestData testData = records.findFirst().orElseThrow();
+
+            assertAll("Verify the first record",
+                    () -> assertEquals("standard_user", testData.getUsername()),
+                    () -> assertEquals("secret_sauce", testData.getPassword()),
+                    () -> assertEquals("0", testData.getFirstName()),
+                    () -> assertEquals("Doe", testData.getLastName()),
+                    () -> assertEquals("12345", testData.getZipcode()),
+                    () -> assertEquals(Arrays.asList("Sauce Labs Backpack"),
+                            Arrays.asList(testData.getItemsToPurchase()))
+            );
+        }
+    }
+
+    /**
+     * Test that a data set missing from the test resources is reported with its name.
+     */
+    @Test
+    @TestDataSource("missing_data_set.jsonl")
+    public void missingDataSet() throws NoSuchMethodException {
+        TestDataArgumentsProvider provider = new TestDataArgumentsProvider();
+        provider.accept(getClass().getMethod("missingDataSet").getAnnotation(TestDataSource.class));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> provider.provideArguments(null));
+        assertEquals("Test data set not found: missing_data_set.jsonl", exception.getMessage());
+    }
+
+    private static List<String> readFirstNames(InputStream input, int shardIndex, int shardCount)
+            throws IOException {
+        try (Stream<TestData> records = TestDataArgumentsProvider.readShard(input, shardIndex, shardCount)) {
+            return records.map(TestData::getFirstName).collect(Collectors.toList());
+        }
+    }
+
+    private static InputStream jsonLines() {
+        return toInputStream(records().collect(Collectors.joining("\n")));
+    }
+
+    private static InputStream jsonArray() {
+        return toInputStream(records().collect(Collectors.joining(",\n", "[\n", "\n]")));
+    }
+
+    // Record i has i as its first name
+    private static Stream<String> records() {
+        return IntStream.range(0, RECORDS).mapToObj(i -> "{\"username\": \"standard_user\", "
+                + "\"password\": \"secret_sauce\", \"firstName\": \"" + i + "\", \"lastName\": \"Doe\", "
+                + "\"zipcode\": \"12345\", \"itemsToPurchase\": [\"Sauce Labs Backpack\"]}");
+    }
+
+    private static InputStream toInputStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
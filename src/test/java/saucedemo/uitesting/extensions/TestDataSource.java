@@ -0,0 +1,28 @@
+package saucedemo.uitesting.extensions;
+
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Provides the records of a test data set, one {@link saucedemo.uitesting.models.TestData} argument per record,
+ * to a parameterized test. The data set is a test resource, either a JSON-lines file or a JSON array,
+ * streamed by {@link TestDataArgumentsProvider} so it never has to fit in memory.
+ * <p>
+ * Only the shard of the records selected by the "shardIndex" and "shardCount" configuration is provided.
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(TestDataArgumentsProvider.class)
+public @interface TestDataSource {
+
+    /**
+     * @return the test resource of the data set, e.g., "purchase_flow_customers.jsonl"
+     */
+    String value();
+}
@@ -0,0 +1,57 @@
+package saucedemo.uitesting.factories;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+import saucedemo.uitesting.utils.CommandMetrics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * WebDriver listener that measures every command sent to the browser and records it in {@link CommandMetrics},
+ * attributed to the page-object operation that sent it.
+ */
+class CommandMetricsListener implements WebDriverListener {
+
+    // Calls answered locally by the Java bindings, without a round trip to the driver
+    private static final Set<String> LOCAL_CALLS = new HashSet<>(Arrays.asList(
+            "manage", "navigate", "switchTo", "window", "timeouts", "logs",
+            "getWrappedDriver", "getWrappedElement", "getId", "getCoordinates",
+            "toString", "hashCode", "equals"));
+
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!LOCAL_CALLS.contains(method.getName())) {
+            startTimes.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        recordCall(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        recordCall(method);
+    }
+
+    private void recordCall(Method method) {
+        if (LOCAL_CALLS.contains(method.getName())) {
+            return;
+        }
+        Long startTime = startTimes.get().poll();
+        if (startTime == null) {
+            return;
+        }
+        long latencyNanos = System.nanoTime() - startTime;
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        CommandMetrics.record(CommandMetrics.callingOperation(), command, latencyNanos);
+    }
+}
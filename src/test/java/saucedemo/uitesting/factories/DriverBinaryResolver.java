@@ -0,0 +1,151 @@
+package saucedemo.uitesting.factories;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.Config;
+import io.github.bonigarcia.wdm.versions.VersionDetector;
+import saucedemo.uitesting.config.TestConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Resolves the driver binary of each browser once per JVM and remembers its path.
+ * A pinned driver path is used as is, in offline mode the binary is looked up in the local driver cache,
+ * otherwise WebDriverManager downloads or reuses the driver matching the installed browser.
+ * In offline mode a chromedriver must match the major version of the installed Chrome, which is detected
+ * from the shell without network access. Geckodriver versions are not tied to a Firefox version,
+ * so the most recent one is used.
+ */
+public class DriverBinaryResolver {
+
+    private static final Map<String, String> RESOLVED_PATHS = new ConcurrentHashMap<>();
+
+    /**
+     * Resolves the driver binary for the specified browser and registers it in the system property
+     * read by Selenium. Only the first call per browser does any work.
+     *
+     * @param browser the browser to resolve the driver for, e.g., "chrome" or "firefox"
+     * @param config  the configuration with the pinned driver paths, the driver cache and the offline mode
+     * @return the path of the driver binary
+     * @throws IllegalArgumentException if the browser is unsupported
+     * @throws IllegalStateException    if the driver binary can't be found
+     */
+    public static String resolve(String browser, TestConfiguration config) {
+        return RESOLVED_PATHS.computeIfAbsent(browser.toLowerCase(), key -> resolveOnce(key, config));
+    }
+
+    private static String resolveOnce(String browser, TestConfiguration config) {
+        String pinnedPath;
+        String binaryName;
+        String driverProperty;
+
+        switch (browser) {
+            case "firefox":
+                pinnedPath = config.getFirefoxDriverPath();
+                binaryName = "geckodriver";
+                driverProperty = "webdriver.gecko.driver";
+                break;
+            case "chrome":
+                pinnedPath = config.getChromeDriverPath();
+                binaryName = "chromedriver";
+                driverProperty = "webdriver.chrome.driver";
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+
+        String driverPath;
+        if (pinnedPath != null) {
+            driverPath = checkExecutable(pinnedPath);
+        } else if (config.isOfflineDrivers()) {
+            String browserMajorVersion = "chrome".equals(browser) ? detectMajorVersion(browser) : null;
+            driverPath = findInCache(config.getDriverCachePath(), binaryName, browserMajorVersion);
+        } else {
+            driverPath = downloadOrReuse(browser, config.getDriverCachePath());
+        }
+
+        System.setProperty(driverProperty, driverPath);
+        return driverPath;
+    }
+
+    /**
+     * Resolves the driver with WebDriverManager, which may access the network.
+     *
+     * @param browser   the browser to resolve the driver for
+     * @param cachePath the directory where WebDriverManager stores the drivers
+     * @return the path of the driver binary
+     */
+    private static String downloadOrReuse(String browser, String cachePath) {
+        WebDriverManager manager = "firefox".equals(browser)
+                ? WebDriverManager.firefoxdriver()
+                : WebDriverManager.chromedriver();
+        manager.cachePath(cachePath).setup();
+        return manager.getDownloadedDriverPath();
+    }
+
+    /**
+     * Detects the major version of the installed browser from the shell, without any network access.
+     *
+     * @param browser the browser, e.g., "chrome"
+     * @return the major version, e.g., "114", or null if the browser version can't be detected
+     */
+    private static String detectMajorVersion(String browser) {
+        return new VersionDetector(new Config(), null).getBrowserVersionFromTheShell(browser)
+                .map(version -> version.split("\\.")[0])
+                .orElse(null);
+    }
+
+    /**
+     * Finds the most recent driver binary in the driver cache, without any network access.
+     * WebDriverManager stores every driver in a directory named after its version, e.g.,
+     * chromedriver/linux64/114.0.5735.90/chromedriver.
+     *
+     * @param cachePath           the directory to search
+     * @param binaryName          the name of the driver binary, without extension
+     * @param browserMajorVersion the major version the driver must match, or null to take the most recent driver
+     * @return the path of the driver binary
+     * @throws IllegalStateException if there is no matching driver binary in the cache
+     */
+    private static String findInCache(String cachePath, String binaryName, String browserMajorVersion) {
+        Path cacheDirectory = Paths.get(cachePath);
+        if (!Files.isDirectory(cacheDirectory)) {
+            throw new IllegalStateException("Driver cache directory not found: " + cacheDirectory);
+        }
+
+        try (Stream<Path> files = Files.walk(cacheDirectory)) {
+            Optional<Path> driver = files
+                    .filter(Files::isRegularFile)
+                    .filter(file -> {
+                        String fileName = file.getFileName().toString();
+                        return fileName.equals(binaryName) || fileName.equals(binaryName + ".exe");
+                    })
+                    .filter(file -> browserMajorVersion == null
+                            || file.getParent().getFileName().toString().startsWith(browserMajorVersion + "."))
+                    .max(Comparator.comparingLong(file -> file.toFile().lastModified()));
+            return checkExecutable(driver
+                    .orElseThrow(() -> new IllegalStateException("No " + binaryName
+                            + (browserMajorVersion == null ? "" : " for browser version " + browserMajorVersion)
+                            + " found in driver cache: " + cacheDirectory))
+                    .toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String checkExecutable(String driverPath) {
+        File driverFile = new File(driverPath);
+        if (!driverFile.isFile() || !driverFile.canExecute()) {
+            throw new IllegalStateException("Driver binary is missing or not executable: " + driverPath);
+        }
+        return driverFile.getAbsolutePath();
+    }
+}
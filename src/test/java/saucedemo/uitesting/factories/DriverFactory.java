@@ -1,65 +1,145 @@
 package saucedemo.uitesting.factories;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import saucedemo.uitesting.config.TestConfiguration;
 
 /**
  * A factory class to create WebDriver instances based on the specified browser and headless mode.
  */
 public class DriverFactory {
 
+    private static final ThreadLocal<WebDriver> CURRENT_DRIVER = new ThreadLocal<>();
+
+    /**
+     * Returns the driver acquired by the test running on the current thread.
+     *
+     * @return the WebDriver instance of the current thread, or null if there is none
+     */
+    public static WebDriver getCurrentDriver() {
+        return CURRENT_DRIVER.get();
+    }
+
+    /**
+     * Creates a WebDriver instance for the browser and headless mode of the configuration.
+     * When command metrics are enabled, the driver is decorated with a listener measuring every command.
+     *
+     * @param config the test configuration
+     * @return a WebDriver instance for the configured browser and headless mode
+     * @throws IllegalArgumentException if the browser is unsupported
+     */
+    public static WebDriver createDriver(TestConfiguration config) {
+        return createDriver(config, PageLoadStrategy.NORMAL);
+    }
+
     /**
-     * Creates a WebDriver instance for the specified browser and headless mode.
+     * Creates a WebDriver instance for the browser and headless mode of the configuration, with a page load strategy.
      *
-     * @param browser     the browser to create a WebDriver for, e.g., "chrome" or "firefox"
-     * @param headlessMode true if the browser should be run in headless mode, false otherwise
-     * @return a WebDriver instance for the specified browser and headless mode
+     * @param config           the test configuration
+     * @param pageLoadStrategy how long navigation commands wait for the page, e.g., NONE to return right away
+     * @return a WebDriver instance for the configured browser and headless mode
      * @throws IllegalArgumentException if the browser is unsupported
      */
-    public static WebDriver createDriver(String browser, boolean headlessMode) {
-        switch (browser.toLowerCase()) {
+    static WebDriver createDriver(TestConfiguration config, PageLoadStrategy pageLoadStrategy) {
+        WebDriver driver;
+        switch (config.getBrowser().toLowerCase()) {
             case "firefox":
-                return createFirefoxDriver(headlessMode);
+                driver = createFirefoxDriver(config, pageLoadStrategy);
+                break;
             case "chrome":
-                return createChromeDriver(headlessMode);
+                driver = createChromeDriver(config, pageLoadStrategy);
+                break;
             default:
-                throw new IllegalArgumentException("Unsupported browser: " + browser);
+                throw new IllegalArgumentException("Unsupported browser: " + config.getBrowser());
+        }
+
+        if (config.isCommandMetrics()) {
+            driver = new EventFiringDecorator<>(new CommandMetricsListener()).decorate(driver);
+        }
+        return driver;
+    }
+
+    /**
+     * Gets a WebDriver instance for a test, according to the driver mode of the configuration.
+     * In "pooled" mode a warm driver is reused when available, in "multiplexed" mode the driver is pinned to
+     * an isolated tab of a shared browser, otherwise a new driver is created.
+     * The driver is bound to the current thread until it is released.
+     *
+     * @param config the test configuration
+     * @return a WebDriver instance for the configured browser and headless mode
+     */
+    public static WebDriver acquireDriver(TestConfiguration config) {
+        WebDriver driver;
+        if (config.isDriverPoolEnabled()) {
+            driver = DriverPool.acquire(config);
+        } else if (config.isDriverMultiplexed()) {
+            driver = DriverMultiplexer.acquire(config);
+        } else {
+            driver = createDriver(config);
+        }
+        CURRENT_DRIVER.set(driver);
+        return driver;
+    }
+
+    /**
+     * Releases a WebDriver instance obtained with {@link #acquireDriver(TestConfiguration)}.
+     * In "pooled" mode the driver is reset and kept for the next test, in "multiplexed" mode its tab is closed,
+     * otherwise it is quit.
+     *
+     * @param driver the WebDriver instance to release
+     * @param config the test configuration
+     */
+    public static void releaseDriver(WebDriver driver, TestConfiguration config) {
+        if (CURRENT_DRIVER.get() == driver) {
+            CURRENT_DRIVER.remove();
+        }
+        if (config.isDriverPoolEnabled()) {
+            DriverPool.release(driver, config.getBrowser(), config.isHeadlessMode(), config.getDriverPoolSize());
+        } else if (config.isDriverMultiplexed()) {
+            DriverMultiplexer.release(driver);
+        } else {
+            driver.quit();
         }
     }
 
     /**
-     * Creates a FirefoxDriver instance with the specified headless mode.
+     * Creates a FirefoxDriver instance with the headless mode of the configuration.
      *
-     * @param headlessMode true if the browser should be run in headless mode, false otherwise
-     * @return a FirefoxDriver instance with the specified headless mode
+     * @param config           the test configuration
+     * @param pageLoadStrategy the page load strategy of the driver
+     * @return a FirefoxDriver instance with the configured headless mode
      */
-    private static WebDriver createFirefoxDriver(boolean headlessMode) {
-        // Set up the WebDriverManager for Firefox
-        WebDriverManager.firefoxdriver().setup();
+    private static WebDriver createFirefoxDriver(TestConfiguration config, PageLoadStrategy pageLoadStrategy) {
+        // Resolve the geckodriver binary, only done once per JVM
+        DriverBinaryResolver.resolve("firefox", config);
 
         // Get FirefoxOptions from OptionsFactory
-        FirefoxOptions firefoxOptions = OptionsFactory.createFirefoxOptions(headlessMode);
+        FirefoxOptions firefoxOptions = OptionsFactory.createFirefoxOptions(config.isHeadlessMode());
+        firefoxOptions.setPageLoadStrategy(pageLoadStrategy);
 
         // Create and return the FirefoxDriver instance with the appropriate options
         return new FirefoxDriver(firefoxOptions);
     }
 
     /**
-     * Creates a ChromeDriver instance with the specified headless mode.
+     * Creates a ChromeDriver instance with the headless mode of the configuration.
      *
-     * @param headlessMode true if the browser should be run in headless mode, false otherwise
-     * @return a ChromeDriver instance with the specified headless mode
+     * @param config           the test configuration
+     * @param pageLoadStrategy the page load strategy of the driver
+     * @return a ChromeDriver instance with the configured headless mode
      */
-    private static WebDriver createChromeDriver(boolean headlessMode) {
-        // Set up the WebDriverManager for Chrome
-        WebDriverManager.chromedriver().setup();
+    private static WebDriver createChromeDriver(TestConfiguration config, PageLoadStrategy pageLoadStrategy) {
+        // Resolve the chromedriver binary, only done once per JVM
+        DriverBinaryResolver.resolve("chrome", config);
 
         // Get ChromeOptions from OptionsFactory
-        ChromeOptions chromeOptions = OptionsFactory.createChromeOptions(headlessMode);
+        ChromeOptions chromeOptions = OptionsFactory.createChromeOptions(config.isHeadlessMode());
+        chromeOptions.setPageLoadStrategy(pageLoadStrategy);
 
         // Create and return the ChromeDriver instance with the appropriate options
         return new ChromeDriver(chromeOptions);
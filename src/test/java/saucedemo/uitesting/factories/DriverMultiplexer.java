@@ -0,0 +1,398 @@
+package saucedemo.uitesting.factories;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+import saucedemo.uitesting.config.TestConfiguration;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out isolated tabs of a few shared browser processes instead of one browser per test.
+ * Every tab is opened in its own Chrome browser context, created with the DevTools Target.createBrowserContext
+ * command, so tests never share cookies, storage or cache. Each tab driver is pinned to its window handle:
+ * every command takes the lock of the shared browser and switches to the tab first, so tests running on
+ * different threads can share a browser without seeing each other's windows.
+ * The lock is only held for short commands: shared browsers don't wait for page loads, so a navigation of a tab
+ * is started under the lock, then polled in short steps, letting the other tabs run in between.
+ * Browsers without browser contexts, e.g., Firefox, get a dedicated driver instead, since tabs of the same
+ * profile would share their state.
+ */
+class DriverMultiplexer {
+
+    private static final Duration NAVIGATION_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration NAVIGATION_POLL_INTERVAL = Duration.ofMillis(50);
+
+    // Marks the document a navigation leaves with its url, the marker is gone once the next document is loaded
+    private static final String MARK_DOCUMENT_SCRIPT = "window.__uitestingTabNavigation = location.href;";
+
+    // A navigation is done once a new document is loaded, or once the url changed within the same document,
+    // e.g., back to another route of the application or to a fragment
+    private static final String NAVIGATION_DONE_SCRIPT =
+            "var from = window.__uitestingTabNavigation, url = arguments[0];" +
+            "return document.readyState === 'complete' && (from === undefined || location.href !== from" +
+            "    || (url !== null && url.indexOf('#') >= 0 && location.href === url));";
+
+    private static final Map<String, List<SharedBrowser>> BROWSERS = new HashMap<>();
+    private static final Map<WebDriver, BrowserTab> TABS = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverMultiplexer::quitAll));
+    }
+
+    private DriverMultiplexer() {
+    }
+
+    /**
+     * Opens a tab in a shared browser with a free slot, launching a new browser if they are all full.
+     * A dedicated driver is created if the browser doesn't support browser contexts.
+     *
+     * @param config the test configuration, with the browser, headless mode and maximum number of tabs per browser
+     * @return a WebDriver instance pinned to its own tab, or a dedicated WebDriver instance
+     */
+    static WebDriver acquire(TestConfiguration config) {
+        if (!"chrome".equalsIgnoreCase(config.getBrowser())) {
+            return DriverFactory.createDriver(config);
+        }
+
+        SharedBrowser sharedBrowser = reserveSlot(config);
+        if (!(sharedBrowser.driver instanceof HasCdp)) {
+            sharedBrowser.releaseSlot();
+            return DriverFactory.createDriver(config);
+        }
+        try {
+            BrowserTab tab = sharedBrowser.openTab();
+            WebDriver driver = new TabDecorator(tab).decorate(sharedBrowser.driver);
+            tab.driver = driver;
+            TABS.put(driver, tab);
+            return driver;
+        } catch (WebDriverException e) {
+            // No browser contexts in this browser, the tests can't be isolated in its tabs
+            sharedBrowser.releaseSlot();
+            return DriverFactory.createDriver(config);
+        }
+    }
+
+    /**
+     * Closes the tab of a driver and disposes of its browser context, keeping the shared browser for the next tabs.
+     * A dedicated driver is quit.
+     *
+     * @param driver the WebDriver instance obtained with {@link #acquire(TestConfiguration)}
+     */
+    static void release(WebDriver driver) {
+        BrowserTab tab = TABS.get(driver);
+        if (tab == null) {
+            driver.quit();
+            return;
+        }
+        release(tab);
+    }
+
+    /**
+     * Closes a tab once, whether it is released by the factory or quit or closed by the test itself.
+     */
+    private static void release(BrowserTab tab) {
+        if (TABS.remove(tab.driver) == null) {
+            return;
+        }
+        try {
+            tab.browser.closeTab(tab);
+        } finally {
+            tab.browser.releaseSlot();
+        }
+    }
+
+    /**
+     * Reserves a slot in a shared browser with a free slot, or in a new browser if they are all full.
+     * A new browser is launched outside the lock, the threads reserving a slot in it meanwhile wait for the launch
+     * without blocking the other acquires and releases.
+     */
+    private static SharedBrowser reserveSlot(TestConfiguration config) {
+        List<SharedBrowser> browsers;
+        SharedBrowser sharedBrowser = null;
+        boolean newBrowser = false;
+        synchronized (DriverMultiplexer.class) {
+            browsers = BROWSERS.computeIfAbsent(
+                    config.getBrowser().toLowerCase() + ":" + config.isHeadlessMode(), key -> new ArrayList<>());
+            for (SharedBrowser browser : browsers) {
+                if (browser.openTabs < config.getTabsPerBrowser()) {
+                    sharedBrowser = browser;
+                    break;
+                }
+            }
+            if (sharedBrowser != null) {
+                sharedBrowser.openTabs++;
+            } else {
+                sharedBrowser = new SharedBrowser();
+                sharedBrowser.openTabs++;
+                browsers.add(sharedBrowser);
+                newBrowser = true;
+            }
+        }
+        if (!newBrowser) {
+            sharedBrowser.awaitLaunch();
+            return sharedBrowser;
+        }
+
+        try {
+            // Navigations return right away, the tabs poll their page loads without holding the browser
+            sharedBrowser.launched(DriverFactory.createDriver(config, PageLoadStrategy.NONE));
+        } catch (RuntimeException e) {
+            synchronized (DriverMultiplexer.class) {
+                browsers.remove(sharedBrowser);
+            }
+            sharedBrowser.launch.completeExceptionally(e);
+            throw e;
+        }
+        return sharedBrowser;
+    }
+
+    private static synchronized void quitAll() {
+        for (List<SharedBrowser> browsers : BROWSERS.values()) {
+            for (SharedBrowser sharedBrowser : browsers) {
+                if (sharedBrowser.driver == null) {
+                    // Still launching, there is no session to quit yet
+                    continue;
+                }
+                try {
+                    sharedBrowser.driver.quit();
+                } catch (RuntimeException e) {
+                    // The session is already gone, nothing left to clean up
+                }
+            }
+        }
+    }
+
+    /**
+     * A browser process shared by several tabs. Its home window is never closed, DevTools commands that are not
+     * about a tab are sent from it.
+     */
+    private static class SharedBrowser {
+
+        private final CompletableFuture<Void> launch = new CompletableFuture<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile WebDriver driver;
+        private String homeHandle;
+        private String currentHandle;
+        private int openTabs;
+
+        private void launched(WebDriver driver) {
+            this.homeHandle = driver.getWindowHandle();
+            this.currentHandle = homeHandle;
+            this.driver = driver;
+            launch.complete(null);
+        }
+
+        private void awaitLaunch() {
+            try {
+                launch.join();
+            } catch (CompletionException e) {
+                throw new WebDriverException("The shared browser could not be launched", e.getCause());
+            }
+        }
+
+        private BrowserTab openTab() {
+            lock.lock();
+            try {
+                switchTo(homeHandle);
+                HasCdp cdp = (HasCdp) driver;
+                String browserContextId = (String) cdp.executeCdpCommand("Target.createBrowserContext",
+                        new HashMap<>()).get("browserContextId");
+
+                Map<String, Object> target = new HashMap<>();
+                target.put("url", "about:blank");
+                target.put("browserContextId", browserContextId);
+                String targetId = (String) cdp.executeCdpCommand("Target.createTarget", target).get("targetId");
+
+                // The window handles of chromedriver are the DevTools target ids
+                for (String handle : driver.getWindowHandles()) {
+                    if (handle.endsWith(targetId)) {
+                        return new BrowserTab(this, handle, browserContextId);
+                    }
+                }
+                disposeBrowserContext(browserContextId);
+                throw new WebDriverException("No window handle for the new tab: " + targetId);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void closeTab(BrowserTab tab) {
+            lock.lock();
+            try {
+                switchTo(homeHandle);
+                // Disposing of the browser context closes its tab as well
+                disposeBrowserContext(tab.browserContextId);
+            } catch (WebDriverException e) {
+                // The tab is already gone, the next tabs get a new browser context anyway
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void disposeBrowserContext(String browserContextId) {
+            Map<String, Object> browserContext = new HashMap<>();
+            browserContext.put("browserContextId", browserContextId);
+            ((HasCdp) driver).executeCdpCommand("Target.disposeBrowserContext", browserContext);
+        }
+
+        private void switchTo(String handle) {
+            if (!handle.equals(currentHandle)) {
+                // Forget the current window first, so a failed switch is retried by the next command
+                currentHandle = null;
+                driver.switchTo().window(handle);
+                currentHandle = handle;
+            }
+        }
+
+        private void releaseSlot() {
+            synchronized (DriverMultiplexer.class) {
+                openTabs--;
+            }
+        }
+    }
+
+    /**
+     * A tab of a shared browser, in its own browser context.
+     */
+    private static class BrowserTab {
+
+        private final SharedBrowser browser;
+        private final String handle;
+        private final String browserContextId;
+        private WebDriver driver;
+
+        private BrowserTab(SharedBrowser browser, String handle, String browserContextId) {
+            this.browser = browser;
+            this.handle = handle;
+            this.browserContextId = browserContextId;
+        }
+    }
+
+    /**
+     * Decorates the driver of a shared browser for one tab: every command, on the driver or on an element,
+     * holds the lock of the browser and runs with the tab as the current window.
+     * Navigations only hold the lock to start, their page load is polled in short steps.
+     * The tab only sees its own window: quit and close release the tab instead of the shared browser,
+     * the window handles of the other tabs are hidden, and switching to another window is rejected.
+     */
+    private static class TabDecorator extends WebDriverDecorator<WebDriver> {
+
+        private final BrowserTab tab;
+
+        private TabDecorator(BrowserTab tab) {
+            this.tab = tab;
+        }
+
+        @Override
+        public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+            SharedBrowser browser = tab.browser;
+            Object original = target.getOriginal();
+            String methodName = method.getName();
+            boolean driverCall = original == browser.driver;
+            if (driverCall && ("quit".equals(methodName) || "close".equals(methodName))) {
+                release(tab);
+                return null;
+            }
+            if (driverCall && "get".equals(methodName)) {
+                navigate("to", (String) args[0]);
+                return null;
+            }
+            if (original instanceof WebDriver.Navigation) {
+                navigate(methodName, "to".equals(methodName) ? String.valueOf(args[0]) : null);
+                return null;
+            }
+            if (original instanceof WebDriver.TargetLocator
+                    && ("window".equals(methodName) || "newWindow".equals(methodName))) {
+                if ("window".equals(methodName) && tab.handle.equals(args[0])) {
+                    return tab.driver;
+                }
+                throw new UnsupportedOperationException(
+                        "A multiplexed tab can't switch to another window, it only has its own: " + tab.handle);
+            }
+
+            browser.lock.lock();
+            try {
+                browser.switchTo(tab.handle);
+                Object result = super.call(target, method, args);
+                if (driverCall && "getWindowHandles".equals(methodName)) {
+                    return new LinkedHashSet<>(Collections.singletonList(tab.handle));
+                }
+                return result;
+            } finally {
+                browser.lock.unlock();
+            }
+        }
+
+        /**
+         * Starts a navigation of the tab under the lock, then waits for it without holding the browser.
+         *
+         * @param operation the Navigation method, "to", "back", "forward" or "refresh"
+         * @param url       the url navigated to, or null for the history and refresh operations
+         * @throws TimeoutException if the page is not loaded before the timeout
+         */
+        private void navigate(String operation, String url) throws InterruptedException {
+            SharedBrowser browser = tab.browser;
+            JavascriptExecutor script = (JavascriptExecutor) browser.driver;
+            browser.lock.lock();
+            try {
+                browser.switchTo(tab.handle);
+                script.executeScript(MARK_DOCUMENT_SCRIPT);
+                WebDriver.Navigation navigation = browser.driver.navigate();
+                switch (operation) {
+                    case "to":
+                        navigation.to(url);
+                        break;
+                    case "back":
+                        navigation.back();
+                        break;
+                    case "forward":
+                        navigation.forward();
+                        break;
+                    default:
+                        navigation.refresh();
+                        break;
+                }
+            } finally {
+                browser.lock.unlock();
+            }
+
+            long deadline = System.nanoTime() + NAVIGATION_TIMEOUT.toNanos();
+            while (true) {
+                browser.lock.lock();
+                try {
+                    browser.switchTo(tab.handle);
+                    if (Boolean.TRUE.equals(script.executeScript(NAVIGATION_DONE_SCRIPT, url))) {
+                        return;
+                    }
+                } catch (JavascriptException e) {
+                    // The document is being replaced, poll the next one
+                } finally {
+                    browser.lock.unlock();
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    throw new TimeoutException("Page not loaded within " + NAVIGATION_TIMEOUT.toSeconds()
+                            + " seconds after " + operation + (url == null ? "" : " " + url));
+                }
+                Thread.sleep(NAVIGATION_POLL_INTERVAL.toMillis());
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package saucedemo.uitesting.factories;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import saucedemo.uitesting.config.TestConfiguration;
+
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * A bounded pool of warm WebDriver instances keyed by browser and headless mode.
+ * Drivers are reset between tests instead of being quit, so the browser launch is paid only once.
+ */
+class DriverPool {
+
+    private static final Map<String, BlockingDeque<WebDriver>> IDLE_DRIVERS = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::quitAll));
+    }
+
+    private DriverPool() {
+    }
+
+    /**
+     * Takes a healthy idle driver from the pool, or creates a new one if there is none.
+     *
+     * @param config the test configuration, with the browser and headless mode of the driver
+     * @return a WebDriver instance ready to be used by a test
+     */
+    static WebDriver acquire(TestConfiguration config) {
+        BlockingDeque<WebDriver> idleDrivers = idleDrivers(config.getBrowser(), config.isHeadlessMode());
+
+        WebDriver driver;
+        while ((driver = idleDrivers.pollFirst()) != null) {
+            if (isHealthy(driver)) {
+                return driver;
+            }
+            quitQuietly(driver);
+        }
+        return DriverFactory.createDriver(config);
+    }
+
+    /**
+     * Resets a driver and returns it to the pool. The driver is quit instead if the reset fails
+     * or if the pool already holds the maximum number of idle drivers.
+     *
+     * @param driver       the driver to return
+     * @param browser      the browser of the driver
+     * @param headlessMode the headless mode of the driver
+     * @param maxIdle      the maximum number of idle drivers kept for this browser and headless mode
+     */
+    static void release(WebDriver driver, String browser, boolean headlessMode, int maxIdle) {
+        if (!reset(driver)) {
+            quitQuietly(driver);
+            return;
+        }
+
+        BlockingDeque<WebDriver> idleDrivers = idleDrivers(browser, headlessMode);
+        synchronized (idleDrivers) {
+            if (idleDrivers.size() < maxIdle) {
+                idleDrivers.offerFirst(driver);
+                return;
+            }
+        }
+        quitQuietly(driver);
+    }
+
+    /**
+     * Clears cookies and web storage of the current origin and navigates to a blank page.
+     *
+     * @param driver the driver to reset
+     * @return true if the driver was reset, false if any of the reset steps failed
+     */
+    private static boolean reset(WebDriver driver) {
+        try {
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.get("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks that the browser session behind a driver still responds.
+     *
+     * @param driver the driver to check
+     * @return true if the driver answered a command, false otherwise
+     */
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static BlockingDeque<WebDriver> idleDrivers(String browser, boolean headlessMode) {
+        String key = browser.toLowerCase() + ":" + headlessMode;
+        return IDLE_DRIVERS.computeIfAbsent(key, k -> new LinkedBlockingDeque<>());
+    }
+
+    private static void quitAll() {
+        for (BlockingDeque<WebDriver> idleDrivers : IDLE_DRIVERS.values()) {
+            WebDriver driver;
+            while ((driver = idleDrivers.pollFirst()) != null) {
+                quitQuietly(driver);
+            }
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            // The session is already gone, nothing left to clean up
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package saucedemo.uitesting.load;
+
+import saucedemo.uitesting.config.TestConfiguration;
+
+import java.time.Duration;
+
+/**
+ * How a {@link LoadRunner} drives its virtual users: how many there are, how long or how many times each one runs
+ * the scenario, how their start is spread, and how long they pause between two steps.
+ */
+public class LoadProfile {
+    private final int virtualUsers;
+    private final Duration duration;
+    private final int iterations;
+    private final Duration rampUp;
+    private final Duration thinkTime;
+
+    private LoadProfile(Builder builder) {
+        this.virtualUsers = builder.virtualUsers;
+        this.duration = builder.duration;
+        this.iterations = builder.iterations;
+        this.rampUp = builder.rampUp;
+        this.thinkTime = builder.thinkTime;
+    }
+
+    /**
+     * Creates the load profile from the "load*" settings of the test configuration.
+     *
+     * @param config the test configuration
+     * @return the load profile
+     */
+    public static LoadProfile fromConfiguration(TestConfiguration config) {
+        return new Builder()
+                .virtualUsers(config.getLoadUsers())
+                .duration(Duration.ofSeconds(config.getLoadDurationSeconds()))
+                .iterations(config.getLoadIterations())
+                .rampUp(Duration.ofSeconds(config.getLoadRampUpSeconds()))
+                .thinkTime(Duration.ofMillis(config.getLoadThinkTimeMillis()))
+                .build();
+    }
+
+    public int getVirtualUsers() {
+        return virtualUsers;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return the number of iterations of each virtual user, 0 if the virtual users run for the duration
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    /**
+     * Returns the delay before a virtual user starts, the virtual users being evenly spread over the ramp-up.
+     *
+     * @param virtualUser the index of the virtual user, from 0
+     * @return the start delay of the virtual user
+     */
+    public Duration getStartDelay(int virtualUser) {
+        return rampUp.multipliedBy(virtualUser).dividedBy(virtualUsers);
+    }
+
+    public static class Builder {
+        private int virtualUsers = 1;
+        private Duration duration = Duration.ofMinutes(1);
+        private int iterations;
+        private Duration rampUp = Duration.ZERO;
+        private Duration thinkTime = Duration.ZERO;
+
+        public Builder virtualUsers(int virtualUsers) {
+            this.virtualUsers = virtualUsers;
+            return this;
+        }
+
+        public Builder duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        public Builder iterations(int iterations) {
+            this.iterations = iterations;
+            return this;
+        }
+
+        public Builder rampUp(Duration rampUp) {
+            this.rampUp = rampUp;
+            return this;
+        }
+
+        public Builder thinkTime(Duration thinkTime) {
+            this.thinkTime = thinkTime;
+            return this;
+        }
+
+        public LoadProfile build() {
+            if (virtualUsers < 1) {
+                throw new IllegalArgumentException("Virtual users must be positive: " + virtualUsers);
+            }
+            return new LoadProfile(this);
+        }
+    }
+}
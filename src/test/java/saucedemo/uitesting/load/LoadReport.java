@@ -0,0 +1,183 @@
+package saucedemo.uitesting.load;
+
+import saucedemo.uitesting.utils.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Results of a load run: the latency histogram of every step and of whole iterations,
+ * the number of completed and failed iterations, and the throughput. Virtual users record into it concurrently.
+ * The first failure causes of every step and of whole iterations are kept, so a failed run can be diagnosed
+ * from the report alone.
+ */
+public class LoadReport {
+
+    static final int MAX_FAILURE_CAUSES = 5;
+
+    private final LoadProfile profile;
+    private final Map<String, Step> steps = new ConcurrentHashMap<>();
+    private final LatencyHistogram iterations = new LatencyHistogram();
+    private final AtomicLong failedIterations = new AtomicLong();
+    private final List<String> iterationFailureCauses = new ArrayList<>();
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    LoadReport(LoadProfile profile) {
+        this.profile = profile;
+    }
+
+    void start() {
+        startNanos = System.nanoTime();
+    }
+
+    void end() {
+        endNanos = System.nanoTime();
+    }
+
+    void recordStep(String step, long latencyNanos) {
+        steps.computeIfAbsent(step, name -> new Step()).latency.record(latencyNanos);
+    }
+
+    void recordStepFailure(String step, Throwable cause) {
+        Step recordedStep = steps.computeIfAbsent(step, name -> new Step());
+        recordedStep.failures.incrementAndGet();
+        keepCause(recordedStep.failureCauses, cause);
+    }
+
+    void recordIteration(long latencyNanos) {
+        iterations.record(latencyNanos);
+    }
+
+    void recordFailedIteration(Throwable cause) {
+        failedIterations.incrementAndGet();
+        keepCause(iterationFailureCauses, cause);
+    }
+
+    public long getCompletedIterations() {
+        return iterations.getCount();
+    }
+
+    public long getFailedIterations() {
+        return failedIterations.get();
+    }
+
+    /**
+     * Returns the latency histogram of a step.
+     *
+     * @param step the step, e.g., "login"
+     * @return the latency histogram, or null if the step never completed
+     */
+    public LatencyHistogram getStepLatency(String step) {
+        Step recordedStep = steps.get(step);
+        return recordedStep == null ? null : recordedStep.latency;
+    }
+
+    /**
+     * Returns the first failure causes of a step.
+     *
+     * @param step the step, e.g., "login"
+     * @return the first {@value #MAX_FAILURE_CAUSES} failure causes, empty if the step never failed
+     */
+    public List<String> getStepFailureCauses(String step) {
+        Step recordedStep = steps.get(step);
+        if (recordedStep == null) {
+            return new ArrayList<>();
+        }
+        synchronized (recordedStep.failureCauses) {
+            return new ArrayList<>(recordedStep.failureCauses);
+        }
+    }
+
+    /**
+     * @return the first {@value #MAX_FAILURE_CAUSES} failure causes of whole iterations, empty if none failed
+     */
+    public List<String> getIterationFailureCauses() {
+        synchronized (iterationFailureCauses) {
+            return new ArrayList<>(iterationFailureCauses);
+        }
+    }
+
+    /**
+     * @return the elapsed time of the run in seconds
+     */
+    public double getElapsedSeconds() {
+        return (endNanos - startNanos) / 1_000_000_000.0;
+    }
+
+    /**
+     * @return the number of completed iterations per second over the whole run
+     */
+    public double getIterationsPerSecond() {
+        double elapsedSeconds = getElapsedSeconds();
+        return elapsedSeconds <= 0 ? 0 : getCompletedIterations() / elapsedSeconds;
+    }
+
+    /**
+     * Returns the report as a structure suitable to be exported as JSON.
+     *
+     * @return the profile, the throughput, and the latency percentiles and failure causes of the iterations
+     * and of every step
+     */
+    public Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+
+        Map<String, Object> profileReport = new LinkedHashMap<>();
+        profileReport.put("virtualUsers", profile.getVirtualUsers());
+        profileReport.put("durationSeconds", profile.getDuration().getSeconds());
+        profileReport.put("iterationsPerUser", profile.getIterations());
+        profileReport.put("rampUpSeconds", profile.getRampUp().getSeconds());
+        profileReport.put("thinkTimeMs", profile.getThinkTime().toMillis());
+        report.put("profile", profileReport);
+
+        Map<String, Object> throughput = new LinkedHashMap<>();
+        throughput.put("elapsedSeconds", round(getElapsedSeconds()));
+        throughput.put("completedIterations", getCompletedIterations());
+        throughput.put("failedIterations", getFailedIterations());
+        throughput.put("iterationsPerSecond", round(getIterationsPerSecond()));
+        throughput.put("iterationsPerMinute", round(getIterationsPerSecond() * 60));
+        report.put("throughput", throughput);
+
+        Map<String, Object> iterationsReport = new LinkedHashMap<>(iterations.toSummary());
+        iterationsReport.put("failureCauses", getIterationFailureCauses());
+        report.put("iterations", iterationsReport);
+
+        Map<String, Object> stepsReport = new LinkedHashMap<>();
+        for (String step : PurchaseFlowScenario.STEPS) {
+            Step recordedStep = steps.get(step);
+            if (recordedStep != null) {
+                Map<String, Object> stepReport = new LinkedHashMap<>(recordedStep.latency.toSummary());
+                stepReport.put("failures", recordedStep.failures.get());
+                stepReport.put("failureCauses", getStepFailureCauses(step));
+                stepsReport.put(step, stepReport);
+            }
+        }
+        report.put("steps", stepsReport);
+        return report;
+    }
+
+    /**
+     * Keeps the first line of a failure cause, WebDriver exceptions append several lines of driver details.
+     */
+    private static void keepCause(List<String> causes, Throwable cause) {
+        synchronized (causes) {
+            if (causes.size() < MAX_FAILURE_CAUSES) {
+                causes.add(cause.toString().split("\\R", 2)[0]);
+            }
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static class Step {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong failures = new AtomicLong();
+        private final List<String> failureCauses = new ArrayList<>();
+    }
+}
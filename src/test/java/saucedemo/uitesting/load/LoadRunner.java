@@ -0,0 +1,91 @@
+package saucedemo.uitesting.load;
+
+import org.openqa.selenium.WebDriver;
+import saucedemo.uitesting.config.TestConfiguration;
+import saucedemo.uitesting.factories.DriverFactory;
+import saucedemo.uitesting.models.TestData;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the purchase flow with concurrent virtual users, each one with its own browser, as described by a
+ * {@link LoadProfile}. Virtual users are started evenly over the ramp-up, then each one runs the flow for the
+ * number of iterations of the profile, or until the duration has elapsed, pausing for the think time between steps.
+ * A failed iteration is counted and the virtual user carries on with the next one.
+ */
+public class LoadRunner {
+
+    private final LoadProfile profile;
+    private final TestConfiguration config;
+    private final TestData customer;
+
+    /**
+     * Constructor to set the load profile, the configuration of the browsers and the customer of the purchase flow.
+     *
+     * @param profile  the load profile
+     * @param config   the test configuration, used to create the browsers
+     * @param customer the customer and the items to purchase
+     */
+    public LoadRunner(LoadProfile profile, TestConfiguration config, TestData customer) {
+        this.profile = profile;
+        this.config = config;
+        this.customer = customer;
+    }
+
+    /**
+     * Runs the load and waits for all the virtual users to finish.
+     *
+     * @return the load report
+     * @throws InterruptedException if interrupted while waiting for the virtual users
+     */
+    public LoadReport run() throws InterruptedException {
+        LoadReport report = new LoadReport(profile);
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService virtualUsers = Executors.newFixedThreadPool(profile.getVirtualUsers(), runnable ->
+                new Thread(runnable, "virtual-user-" + threadCount.incrementAndGet()));
+
+        report.start();
+        long deadline = System.nanoTime() + profile.getRampUp().plus(profile.getDuration()).toNanos();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int virtualUser = 0; virtualUser < profile.getVirtualUsers(); virtualUser++) {
+                Duration startDelay = profile.getStartDelay(virtualUser);
+                futures.add(virtualUsers.submit(() -> {
+                    runVirtualUser(startDelay, deadline, report);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A virtual user could not run", e.getCause());
+        } finally {
+            virtualUsers.shutdownNow();
+            report.end();
+        }
+        return report;
+    }
+
+    private void runVirtualUser(Duration startDelay, long deadline, LoadReport report) throws InterruptedException {
+        Thread.sleep(startDelay.toMillis());
+
+        WebDriver driver = DriverFactory.acquireDriver(config);
+        try {
+            PurchaseFlowScenario scenario = new PurchaseFlowScenario(driver, customer, report, profile.getThinkTime());
+            // In duration mode every virtual user stops at the same time, whenever it started
+            scenario.runIterations(iteration -> profile.getIterations() > 0
+                    ? iteration < profile.getIterations()
+                    : System.nanoTime() - deadline < 0);
+        } finally {
+            DriverFactory.releaseDriver(driver, config);
+        }
+    }
+}
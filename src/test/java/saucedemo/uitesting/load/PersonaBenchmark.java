@@ -0,0 +1,196 @@
+package saucedemo.uitesting.load;
+
+import org.openqa.selenium.WebDriver;
+import saucedemo.uitesting.models.TestData;
+import saucedemo.uitesting.utils.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the purchase flow for several SauceDemo users, the personas, one after the other on the same driver,
+ * to compare the latency of every step between personas and against a baseline.
+ * Every persona first runs warm-up iterations, which are not measured, then the measured iterations.
+ */
+public class PersonaBenchmark {
+
+    private final WebDriver driver;
+    private final TestData customer;
+    private final int warmupIterations;
+    private final int iterations;
+
+    /**
+     * Constructor to set the driver, the customer of the purchase flow and the number of iterations.
+     *
+     * @param driver           the WebDriver instance
+     * @param customer         the password, checkout information and items to purchase, used for every persona
+     * @param warmupIterations the iterations run before measuring, for every persona
+     * @param iterations       the measured iterations, for every persona
+     */
+    public PersonaBenchmark(WebDriver driver, TestData customer, int warmupIterations, int iterations) {
+        this.driver = driver;
+        this.customer = customer;
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Runs the benchmark. A failed iteration is counted, and the persona carries on with the next one.
+     *
+     * @param personas the usernames of the personas
+     * @return the report of every persona, in the order of the personas
+     * @throws InterruptedException if interrupted while running
+     */
+    public Map<String, LoadReport> run(List<String> personas) throws InterruptedException {
+        LoadProfile profile = new LoadProfile.Builder()
+                .iterations(iterations)
+                .duration(Duration.ZERO)
+                .build();
+
+        Map<String, LoadReport> reports = new LinkedHashMap<>();
+        for (String persona : personas) {
+            TestData personaCustomer = new TestData(persona, customer.getPassword(), customer.getFirstName(),
+                    customer.getLastName(), customer.getZipcode(), customer.getItemsToPurchase());
+
+            runIterations(personaCustomer, new LoadReport(profile), warmupIterations);
+
+            LoadReport report = new LoadReport(profile);
+            report.start();
+            runIterations(personaCustomer, report, iterations);
+            report.end();
+            reports.put(persona, report);
+        }
+        return reports;
+    }
+
+    private void runIterations(TestData personaCustomer, LoadReport report, int count) throws InterruptedException {
+        new PurchaseFlowScenario(driver, personaCustomer, report, Duration.ZERO)
+                .runIterations(iteration -> iteration < count);
+    }
+
+    /**
+     * Returns the p95 latency of every step of every persona, as a baseline for the next runs.
+     *
+     * @param reports the report of every persona
+     * @return the p95 latency in milliseconds, keyed by persona then by step
+     */
+    public static Map<String, Map<String, Double>> toBaseline(Map<String, LoadReport> reports) {
+        Map<String, Map<String, Double>> baseline = new LinkedHashMap<>();
+        for (Map.Entry<String, LoadReport> report : reports.entrySet()) {
+            Map<String, Double> steps = new LinkedHashMap<>();
+            for (String step : PurchaseFlowScenario.STEPS) {
+                LatencyHistogram latency = report.getValue().getStepLatency(step);
+                if (latency != null) {
+                    steps.put(step, latency.getPercentileMillis(95));
+                }
+            }
+            baseline.put(report.getKey(), steps);
+        }
+        return baseline;
+    }
+
+    /**
+     * Finds the personas whose measurements can't be trusted: those with failed iterations,
+     * and those with steps that were never measured.
+     *
+     * @param reports the report of every persona
+     * @return a description of every incomplete persona, empty if there is none
+     */
+    public static List<String> findIncompletePersonas(Map<String, LoadReport> reports) {
+        List<String> incompletePersonas = new ArrayList<>();
+        for (Map.Entry<String, LoadReport> report : reports.entrySet()) {
+            List<String> unmeasuredSteps = new ArrayList<>();
+            for (String step : PurchaseFlowScenario.STEPS) {
+                if (report.getValue().getStepLatency(step) == null) {
+                    unmeasuredSteps.add(step);
+                }
+            }
+            long failedIterations = report.getValue().getFailedIterations();
+            if (failedIterations > 0 || !unmeasuredSteps.isEmpty()) {
+                incompletePersonas.add(report.getKey() + " failed " + failedIterations + " of "
+                        + (failedIterations + report.getValue().getCompletedIterations()) + " iterations"
+                        + (unmeasuredSteps.isEmpty() ? "" : ", steps never measured: " + unmeasuredSteps));
+            }
+        }
+        return incompletePersonas;
+    }
+
+    /**
+     * Lists the measured steps of every persona that have no baseline to be compared to.
+     *
+     * @param reports  the report of every persona
+     * @param baseline the baseline p95 latency in milliseconds, keyed by persona then by step
+     * @return a description of every step without a baseline, empty if they all have one
+     */
+    public static List<String> findMissingBaselines(Map<String, LoadReport> reports,
+                                                    Map<String, Map<String, Double>> baseline) {
+        List<String> missingBaselines = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Double>> persona : toBaseline(reports).entrySet()) {
+            Map<String, Double> personaBaseline = baseline.getOrDefault(persona.getKey(), Map.of());
+            for (String step : persona.getValue().keySet()) {
+                if (!personaBaseline.containsKey(step)) {
+                    missingBaselines.add(persona.getKey() + " " + step);
+                }
+            }
+        }
+        return missingBaselines;
+    }
+
+    /**
+     * Compares the p95 latency of every step of every persona to its baseline.
+     * Steps without a baseline are not compared, see {@link #findMissingBaselines(Map, Map)}.
+     *
+     * @param reports          the report of every persona
+     * @param baseline         the baseline p95 latency in milliseconds, keyed by persona then by step
+     * @param thresholdPercent how much slower than its baseline a step may be
+     * @return a description of every regression, empty if there is none
+     */
+    public static List<String> findRegressions(Map<String, LoadReport> reports,
+                                               Map<String, Map<String, Double>> baseline, int thresholdPercent) {
+        List<String> regressions = new ArrayList<>();
+        Map<String, Map<String, Double>> current = toBaseline(reports);
+        for (Map.Entry<String, Map<String, Double>> persona : current.entrySet()) {
+            Map<String, Double> personaBaseline = baseline.getOrDefault(persona.getKey(), Map.of());
+            for (Map.Entry<String, Double> step : persona.getValue().entrySet()) {
+                Double baselineMillis = personaBaseline.get(step.getKey());
+                if (baselineMillis != null && step.getValue() > baselineMillis * (100 + thresholdPercent) / 100) {
+                    regressions.add(persona.getKey() + " " + step.getKey() + " p95 is " + step.getValue()
+                            + " ms, baseline is " + baselineMillis + " ms (+" + thresholdPercent + "% allowed)");
+                }
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Formats the p50 and p95 latency of every step with one column per persona.
+     *
+     * @param reports the report of every persona
+     * @return the table as text
+     */
+    public static String toTable(Map<String, LoadReport> reports) {
+        StringBuilder table = new StringBuilder(String.format("%-18s", "step (p50/p95 ms)"));
+        for (String persona : reports.keySet()) {
+            table.append(String.format(" | %-23s", persona));
+        }
+        table.append('\n');
+        for (String step : PurchaseFlowScenario.STEPS) {
+            table.append(String.format("%-18s", step));
+            for (LoadReport report : reports.values()) {
+                LatencyHistogram latency = report.getStepLatency(step);
+                String cell = latency == null ? "-" : String.format("%.0f / %.0f",
+                        latency.getPercentileMillis(50), latency.getPercentileMillis(95));
+                table.append(String.format(" | %-23s", cell));
+            }
+            table.append('\n');
+        }
+        table.append(String.format("%-18s", "failed iterations"));
+        for (LoadReport report : reports.values()) {
+            table.append(String.format(" | %-23s", report.getFailedIterations()));
+        }
+        return table.append('\n').toString();
+    }
+}
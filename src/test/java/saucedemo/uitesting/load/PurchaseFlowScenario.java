@@ -0,0 +1,123 @@
+package saucedemo.uitesting.load;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import saucedemo.uitesting.models.TestData;
+import saucedemo.uitesting.page_objects.pages.CartPage;
+import saucedemo.uitesting.page_objects.pages.CheckoutCompletePage;
+import saucedemo.uitesting.page_objects.pages.CheckoutStepOnePage;
+import saucedemo.uitesting.page_objects.pages.CheckoutStepTwoPage;
+import saucedemo.uitesting.page_objects.pages.InventoryPage;
+import saucedemo.uitesting.page_objects.pages.LoginPage;
+import saucedemo.uitesting.page_objects.sections.HeaderSection;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.IntPredicate;
+
+/**
+ * The purchase flow of one virtual user, from the login page to the order confirmation,
+ * driven through the page objects. Every step is timed separately in the {@link LoadReport}.
+ */
+class PurchaseFlowScenario {
+
+    static final String LOGIN = "login";
+    static final String SELECT_ITEMS = "selectItems";
+    static final String OPEN_CART = "openCart";
+    static final String CHECKOUT = "checkout";
+    static final String ENTER_INFORMATION = "enterInformation";
+    static final String FINISH = "finish";
+
+    static final List<String> STEPS = Collections.unmodifiableList(Arrays.asList(
+            LOGIN, SELECT_ITEMS, OPEN_CART, CHECKOUT, ENTER_INFORMATION, FINISH));
+
+    private final WebDriver driver;
+    private final TestData customer;
+    private final LoadReport report;
+    private final Duration thinkTime;
+
+    PurchaseFlowScenario(WebDriver driver, TestData customer, LoadReport report, Duration thinkTime) {
+        this.driver = driver;
+        this.customer = customer;
+        this.report = report;
+        this.thinkTime = thinkTime;
+    }
+
+    /**
+     * Runs the purchase flow as long as the condition holds, recording the latency of every completed iteration.
+     * A failed iteration is recorded with its cause, and the next one is run.
+     *
+     * @param hasNextIteration tested with the number of iterations already run, true to run one more
+     * @throws InterruptedException if interrupted while running
+     */
+    void runIterations(IntPredicate hasNextIteration) throws InterruptedException {
+        for (int iteration = 0; hasNextIteration.test(iteration); iteration++) {
+            long start = System.nanoTime();
+            try {
+                runIteration();
+                report.recordIteration(System.nanoTime() - start);
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception | AssertionError e) {
+                report.recordFailedIteration(e);
+            }
+        }
+    }
+
+    /**
+     * Runs the purchase flow once, starting from an empty session.
+     *
+     * @throws Exception if a step fails, the failure is recorded against that step
+     */
+    private void runIteration() throws Exception {
+        LoginPage loginPage = new LoginPage(driver);
+        loginPage.visit();
+        // a failed iteration may have left items in the cart
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+
+        InventoryPage inventoryPage = step(LOGIN,
+                () -> loginPage.login(customer.getUsername(), customer.getPassword()));
+        step(SELECT_ITEMS, () -> {
+            inventoryPage.selectItemsToPurchase(Arrays.asList(customer.getItemsToPurchase()));
+            return null;
+        });
+        CartPage cartPage = step(OPEN_CART, () -> new HeaderSection(driver).clickCartIcon());
+        CheckoutStepOnePage checkoutStepOnePage = step(CHECKOUT, cartPage::clickCheckoutButton);
+        CheckoutStepTwoPage checkoutStepTwoPage = step(ENTER_INFORMATION, () -> {
+            checkoutStepOnePage.enterInformation(customer.getFirstName(), customer.getLastName(),
+                    customer.getZipcode());
+            return checkoutStepOnePage.clickContinueButton();
+        });
+        step(FINISH, () -> {
+            CheckoutCompletePage checkoutCompletePage = checkoutStepTwoPage.clickFinishButton();
+            String headerText = checkoutCompletePage.getHeaderText();
+            if (!"Thank you for your order!".equals(headerText)) {
+                throw new IllegalStateException("Order not confirmed: " + headerText);
+            }
+            return checkoutCompletePage;
+        });
+    }
+
+    /**
+     * Runs and times a step, then pauses for the think time.
+     */
+    private <T> T step(String name, Callable<T> action) throws Exception {
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = action.call();
+        } catch (Exception | AssertionError e) {
+            report.recordStepFailure(name, e);
+            throw e;
+        }
+        report.recordStep(name, System.nanoTime() - start);
+        if (!thinkTime.isZero()) {
+            Thread.sleep(thinkTime.toMillis());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,56 @@
+package saucedemo.uitesting.models;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * This class represents one case of the checkout information validation matrix: the values entered in the
+ * Checkout Step One form and the error message the page is expected to show.
+ * CheckoutValidationCase is immutable, so a single instance can be shared by all the tests, on any thread.
+ */
+public class CheckoutValidationCase {
+
+    private final String firstName;
+    private final String lastName;
+    private final String postalCode;
+    private final String expectedError;
+
+    /**
+     * Constructor used by Jackson to create the case from a JSON record.
+     * Missing values are entered as empty fields, a missing expected error means the information is accepted.
+     */
+    @JsonCreator
+    public CheckoutValidationCase(@JsonProperty("firstName") String firstName,
+                                  @JsonProperty("lastName") String lastName,
+                                  @JsonProperty("postalCode") String postalCode,
+                                  @JsonProperty("expectedError") String expectedError) {
+        this.firstName = firstName == null ? "" : firstName;
+        this.lastName = lastName == null ? "" : lastName;
+        this.postalCode = postalCode == null ? "" : postalCode;
+        this.expectedError = expectedError == null ? "" : expectedError;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getPostalCode() {
+        return postalCode;
+    }
+
+    /**
+     * @return the expected error message, or an empty string if the information is expected to be accepted
+     */
+    public String getExpectedError() {
+        return expectedError;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + firstName + "|" + lastName + "|" + postalCode + "]";
+    }
+}
@@ -5,11 +5,11 @@ package saucedemo.uitesting.models;
  * Inventory Page, the Cart Page, and the Checkout Step Two Page
  */
 public class Item {
-    private String name;
-    private String description;
-    private String price;
-    private String buttonText;
-    private String quantity;
+    private final String name;
+    private final String description;
+    private final String price;
+    private final String buttonText;
+    private final String quantity;
 
     private Item(Builder builder) {
         this.name = builder.name;
@@ -1,65 +1,74 @@
 package saucedemo.uitesting.models;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Arrays;
+
 /**
  * This class represents the test data model used for storing information
  * required for executing test cases, such as login credentials, user information,
  * and items to purchase.
+ * TestData is immutable, so a single instance can be shared by all the tests, on any thread.
  */
 public class TestData {
 
-    private String username;
-    private String password;
-    private String firstName;
-    private String lastName;
-    private String zipcode;
-    private String[] itemsToPurchase;
+    private final String username;
+    private final String password;
+    private final String firstName;
+    private final String lastName;
+    private final String zipcode;
+    private final String[] itemsToPurchase;
 
-    public String getUsername() {
-        return username;
+    /**
+     * Constructor used by Jackson to create the test data from a JSON file.
+     * Missing properties are null.
+     */
+    @JsonCreator
+    public TestData(@JsonProperty("username") String username,
+                    @JsonProperty("password") String password,
+                    @JsonProperty("firstName") String firstName,
+                    @JsonProperty("lastName") String lastName,
+                    @JsonProperty("zipcode") String zipcode,
+                    @JsonProperty("itemsToPurchase") String[] itemsToPurchase) {
+        this.username = username;
+        this.password = password;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.zipcode = zipcode;
+        this.itemsToPurchase = itemsToPurchase == null ? null : itemsToPurchase.clone();
     }
 
-    public void setUsername(String username) {
-        this.username = username;
+    public String getUsername() {
+        return username;
     }
 
     public String getPassword() {
         return password;
     }
 
-    public void setPassword(String password) {
-        this.password = password;
-    }
-
     public String getFirstName() {
         return firstName;
     }
 
-    public void setFirstName(String firstName) {
-        this.firstName = firstName;
-    }
-
     public String getLastName() {
         return lastName;
     }
 
-    public void setLastName(String lastName) {
-        this.lastName = lastName;
-    }
-
     public String getZipcode() {
         return zipcode;
     }
 
-    public void setZipcode(String zipcode) {
-        this.zipcode = zipcode;
-    }
-
+    /**
+     * @return a copy of the names of the items to purchase, or null if there are none
+     */
     public String[] getItemsToPurchase() {
-        return itemsToPurchase;
+        return itemsToPurchase == null ? null : itemsToPurchase.clone();
     }
 
-    public void setItemsToPurchase(String[] itemsToPurchase) {
-        this.itemsToPurchase = itemsToPurchase;
+    @Override
+    public String toString() {
+        return username + " " + Arrays.toString(itemsToPurchase);
     }
 
 }
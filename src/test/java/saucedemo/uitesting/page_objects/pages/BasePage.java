@@ -1,28 +1,162 @@
 package saucedemo.uitesting.page_objects.pages;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import saucedemo.uitesting.bindings.DomVersion;
+import saucedemo.uitesting.config.ConfigurationLoader;
+import saucedemo.uitesting.config.TestConfiguration;
+import saucedemo.uitesting.utils.PageTimeline;
+import saucedemo.uitesting.utils.WaitEngine;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * BasePage class represents a base class for all page classes.
  * It encapsulates common logic and provides methods for waiting for elements.
+ * Page objects keep no static state, each instance only talks to the driver it was created with,
+ * so tests running on different threads never share a page object.
  */
 public abstract class BasePage {
 
-    protected WebDriver driver;
+    // Reads navigation, paint and resource timing entries at once, resources are cleared for the next page.
+    // SauceDemo routes on the client side, so the navigation and paint entries of a document are only read by the
+    // first page recorded in it, the pages reached by a click within the document are soft navigations
+    private static final String READ_PERFORMANCE_SCRIPT =
+            "var timings = {};" +
+            "var documentLoad = !window.__uitestingPerformanceRecorded;" +
+            "window.__uitestingPerformanceRecorded = true;" +
+            "var navigation = performance.getEntriesByType('navigation')[0];" +
+            "if (documentLoad && navigation) {" +
+            "  timings.responseEnd = navigation.responseEnd;" +
+            "  timings.domInteractive = navigation.domInteractive;" +
+            "  timings.domContentLoaded = navigation.domContentLoadedEventEnd;" +
+            "  timings.loadEventEnd = navigation.loadEventEnd;" +
+            "}" +
+            "if (documentLoad) {" +
+            "  performance.getEntriesByType('paint').forEach(function (entry) {" +
+            "    timings[entry.name === 'first-contentful-paint' ? 'firstContentfulPaint' : 'firstPaint'] = entry.startTime;" +
+            "  });" +
+            "}" +
+            "var resources = performance.getEntriesByType('resource').map(function (entry) {" +
+            "  return {name: entry.name, initiatorType: entry.initiatorType, startTime: entry.startTime," +
+            "          duration: entry.duration, transferSize: entry.transferSize};" +
+            "});" +
+            "performance.clearResourceTimings();" +
+            "return {url: location.href, timings: timings, resources: resources};";
+
+    // Installs the readiness tracker once per document, then resolves when the document is loaded, no fetch or XHR
+    // is pending and nothing changed the DOM or ran an animation frame for the quiet window, or null on timeout.
+    // Resolves with the DOM version: the document id and the number of mutations adding or removing nodes
+    private static final String QUIESCENCE_SCRIPT =
+            "var quietWindow = arguments[0], timeout = arguments[1], done = arguments[arguments.length - 1];" +
+            "var tracker = window.__uitestingQuiescence;" +
+            "if (!tracker) {" +
+            "  tracker = window.__uitestingQuiescence = {pending: 0, lastActivity: performance.now()," +
+            "      id: Math.random().toString(36).slice(2), nodeMutations: 0};" +
+            "  var touch = function () { tracker.lastActivity = performance.now(); };" +
+            "  var settle = function () { tracker.pending--; touch(); };" +
+            "  new MutationObserver(function (records) {" +
+            "    records.forEach(function (record) {" +
+            "      if (record.type === 'childList') { tracker.nodeMutations++; }" +
+            "    });" +
+            "    touch();" +
+            "  }).observe(document," +
+            "      {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "  if (window.fetch) {" +
+            "    var originalFetch = window.fetch;" +
+            "    window.fetch = function () {" +
+            "      tracker.pending++; touch();" +
+            "      return originalFetch.apply(this, arguments).then(" +
+            "          function (response) { settle(); return response; }," +
+            "          function (error) { settle(); throw error; });" +
+            "    };" +
+            "  }" +
+            "  var originalSend = XMLHttpRequest.prototype.send;" +
+            "  XMLHttpRequest.prototype.send = function () {" +
+            "    tracker.pending++; touch();" +
+            "    this.addEventListener('loadend', settle);" +
+            "    return originalSend.apply(this, arguments);" +
+            "  };" +
+            "  var originalRequestAnimationFrame = window.requestAnimationFrame;" +
+            "  window.requestAnimationFrame = function (callback) {" +
+            "    return originalRequestAnimationFrame.call(window, function (time) { touch(); callback(time); });" +
+            "  };" +
+            "}" +
+            "var start = performance.now();" +
+            "(function check() {" +
+            "  var now = performance.now();" +
+            "  if (document.readyState === 'complete' && tracker.pending === 0" +
+            "      && now - tracker.lastActivity >= quietWindow) {" +
+            "    done(tracker.id + ':' + tracker.nodeMutations);" +
+            "  } else if (now - start >= timeout) {" +
+            "    done(null);" +
+            "  } else {" +
+            "    setTimeout(check, 10);" +
+            "  }" +
+            "})();";
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(20);
+    private static final Duration MULTIPLEXED_QUIESCENCE_STEP = Duration.ofMillis(250);
+
+    protected final WebDriver driver;
+    protected final WaitEngine waits;
+    protected final DomVersion domVersion;
 
     /**
-     * Constructor to set the WebDriver instance.
+     * Constructor to set the WebDriver instance, its wait engine, and the DOM version shared by all the pages
+     * of the driver.
      *
      * @param driver the WebDriver instance
      */
     public BasePage(WebDriver driver) {
         this.driver = driver;
+        this.waits = WaitEngine.of(driver);
+        this.domVersion = DomVersion.of(driver);
+    }
+
+    /**
+     * Adds the browser performance data of this page to the timeline of the test, if page performance
+     * is being recorded. Everything is read with a single script execution.
+     * The document timings are only attributed to the page that loaded the document. A page reached by a click
+     * within the same document gets the time from the click to quiescence as "clickToQuiescence" instead.
+     */
+    @SuppressWarnings("unchecked")
+    protected void recordPagePerformance() {
+        if (!PageTimeline.isRecording()) {
+            return;
+        }
+        Map<String, Object> performance = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(READ_PERFORMANCE_SCRIPT);
+
+        Map<String, Double> timings = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> timing : ((Map<String, Object>) performance.get("timings")).entrySet()) {
+            timings.put(timing.getKey(), ((Number) timing.getValue()).doubleValue());
+        }
+        List<Map<String, Object>> resources = (List<Map<String, Object>>) performance.get("resources");
+        timings.put("resourceCount", (double) resources.size());
+        Double clickToQuiescence = PageTimeline.takeClickToQuiescence();
+        if (clickToQuiescence != null) {
+            timings.put("clickToQuiescence", clickToQuiescence);
+        }
+
+        PageTimeline.record(getClass().getSimpleName(), (String) performance.get("url"), timings, resources);
+    }
+
+    /**
+     * Resolves a path of the SauceDemo application against the configured base URL.
+     *
+     * @param path the path, relative to the base URL, e.g., "inventory.html"
+     * @return the absolute url
+     */
+    protected static String url(String path) {
+        return ConfigurationLoader.getConfiguration().getBaseUrl() + path;
     }
 
     /**
@@ -31,7 +165,49 @@ public abstract class BasePage {
      * @param url the url to visit
      */
     public void visit(String url) {
+        // A click before this navigation did not lead to the next page
+        PageTimeline.takeClickToQuiescence();
         driver.get(url);
+        waitForQuiescence();
+    }
+
+    /**
+     * Waits for the current page to be quiet: loaded, with no pending fetch or XHR call, and without
+     * DOM mutations or animation frames for the "quietWindowMillis" configuration, with a timeout of 20 seconds.
+     * The tracker is injected once per document and the whole wait is a single asynchronous script execution,
+     * or a few short ones in "multiplexed" driver mode.
+     * The DOM version reported by the page invalidates the element handles cached by the page bindings.
+     *
+     * @throws TimeoutException if the page is not quiet before the timeout
+     */
+    protected void waitForQuiescence() {
+        TestConfiguration config = ConfigurationLoader.getConfiguration();
+        int quietWindowMillis = config.getQuietWindowMillis();
+        // A multiplexed tab holds its shared browser during a script, the wait is split in short scripts
+        // so the other tabs run in between
+        long stepMillis = config.isDriverMultiplexed()
+                ? MULTIPLEXED_QUIESCENCE_STEP.toMillis() : DEFAULT_TIMEOUT.toMillis();
+        long deadline = System.nanoTime() + DEFAULT_TIMEOUT.toNanos();
+        while (true) {
+            long remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+            try {
+                Object version = ((JavascriptExecutor) driver).executeAsyncScript(QUIESCENCE_SCRIPT,
+                        quietWindowMillis, Math.max(0, Math.min(remainingMillis, stepMillis)));
+                if (version != null) {
+                    domVersion.update((String) version);
+                    return;
+                }
+                if (remainingMillis <= stepMillis) {
+                    throw new TimeoutException("Page not quiet for " + quietWindowMillis + " ms within "
+                            + DEFAULT_TIMEOUT.toSeconds() + " seconds: " + driver.getCurrentUrl());
+                }
+            } catch (JavascriptException e) {
+                // The document was unloaded while waiting, wait for the next one
+                if (remainingMillis <= 0) {
+                    throw e;
+                }
+            }
+        }
     }
 
     /**
@@ -42,8 +218,7 @@ public abstract class BasePage {
      * @return the WebElement instance
      */
     protected WebElement waitForElement(By locator, int timeout) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return waits.visible(locator, Duration.ofSeconds(timeout));
     }
 
     /**
@@ -53,7 +228,7 @@ public abstract class BasePage {
      * @return the WebElement instance
      */
     protected WebElement waitForElement(By locator) {
-        return waitForElement(locator, 20);
+        return waits.visible(locator, DEFAULT_TIMEOUT);
     }
 
     /**
@@ -62,7 +237,22 @@ public abstract class BasePage {
      * @param element the WebElement to be clicked
      */
     protected void clickWhenClickable(WebElement element) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
-        wait.until(ExpectedConditions.elementToBeClickable(element)).click();
+        waits.clickable(element, DEFAULT_TIMEOUT).click();
+    }
+
+    /**
+     * Clicks on a WebElement after waiting for it to be clickable, then waits for the page to be quiet.
+     * When page performance is recorded, the time from the click to quiescence is kept for the next page recorded.
+     *
+     * @param element the WebElement to be clicked
+     */
+    protected void clickAndWaitForQuiescence(WebElement element) {
+        WebElement clickableElement = waits.clickable(element, DEFAULT_TIMEOUT);
+        long start = System.nanoTime();
+        clickableElement.click();
+        waitForQuiescence();
+        if (PageTimeline.isRecording()) {
+            PageTimeline.recordClickToQuiescence((System.nanoTime() - start) / 1_000_000.0);
+        }
     }
 }
@@ -4,10 +4,10 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import saucedemo.uitesting.models.Item;
+import saucedemo.uitesting.utils.ItemListExtractor;
+import saucedemo.uitesting.utils.ItemListExtractor.Field;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,51 +16,40 @@ import java.util.List;
  */
 public class CartPage extends BasePage {
 
+    private static final ItemListExtractor CART_ITEMS_EXTRACTOR = new ItemListExtractor.Builder(".cart_list .cart_item")
+            .field(Field.NAME, ".inventory_item_name")
+            .field(Field.DESCRIPTION, ".inventory_item_desc")
+            .field(Field.PRICE, ".inventory_item_price")
+            .field(Field.QUANTITY, ".cart_quantity")
+            .field(Field.BUTTON_TEXT, "button")
+            .build();
 
     @FindBy(id = "checkout")
-    private WebElement checkoutButton;
+    WebElement checkoutButton;
 
     @FindBy(css = ".cart_list .cart_item")
-    private List<WebElement> cartItemsWebElements;
+    List<WebElement> cartItemsWebElements;
 
     private List<Item> cartItems;
 
     /**
-     * Constructor to set the WebDriver instance and initialize the page elements.
+     * Constructor to set the WebDriver instance and bind the page elements.
      *
      * @param driver the WebDriver instance
      */
     public CartPage(WebDriver driver) {
         super(driver);
-        PageFactory.initElements(driver, this);
+        CartPage_Binding.bind(this, driver, domVersion);
+        recordPagePerformance();
     }
 
     /**
-     * Retrieves a list of Item objects for all the items in the cart.
+     * Retrieves a list of Item objects for all the items in the cart, with a single script execution.
      *
-     * @return a list of Item objects
+     * @return an unmodifiable list of Item objects
      */
     public List<Item> getCartItems() {
-        List<Item> items = new ArrayList<>();
-
-        for (WebElement item : cartItemsWebElements) {
-            String name = item.findElement(By.className("inventory_item_name")).getText();
-            String description = item.findElement(By.className("inventory_item_desc")).getText();
-            String price = item.findElement(By.className("inventory_item_price")).getText();
-            String quantity = item.findElement(By.className("cart_quantity")).getText();
-            String buttonText = item.findElement(By.tagName("button")).getText();
-
-            items.add(new Item.Builder()
-                    .name(name)
-                    .description(description)
-                    .price(price)
-                    .buttonText(buttonText)
-                    .quantity(quantity)
-                    .build()
-            );
-        }
-
-        cartItems = items;
+        cartItems = CART_ITEMS_EXTRACTOR.extract(driver);
         return cartItems;
     }
 
@@ -70,7 +59,7 @@ public class CartPage extends BasePage {
      * @return an instance of CheckoutStepOnePage
      */
     public CheckoutStepOnePage clickCheckoutButton() {
-        clickWhenClickable(checkoutButton);
+        clickAndWaitForQuiescence(checkoutButton);
         return new CheckoutStepOnePage(driver);
     }
 
@@ -82,11 +71,11 @@ public class CartPage extends BasePage {
      * @throws Exception If the item name is not found in the list.
      */
     private int getItemIndexByName(String itemName) throws Exception {
-        for (int i = 0; i < cartItemsWebElements.size(); i++) {
-            WebElement item = cartItemsWebElements.get(i);
-            WebElement itemNameElement = item.findElement(By.cssSelector(".inventory_item_name"));
-            String currentItemName = itemNameElement.getText();
-            if (currentItemName.equalsIgnoreCase(itemName)) {
+        if (cartItems == null) {
+            getCartItems();
+        }
+        for (int i = 0; i < cartItems.size(); i++) {
+            if (cartItems.get(i).getName().equalsIgnoreCase(itemName)) {
                 return i;
             }
         }
@@ -95,7 +84,7 @@ public class CartPage extends BasePage {
 
     /**
      * Clicks on the remove button of a cart item by index.
-     * Waits for the button to be clickable with a timeout of 20 seconds.
+     * Waits for the button to be clickable, then for the page to be quiet, with a timeout of 20 seconds each.
      *
      * @param itemName the name if the item to click its button
      *
@@ -105,7 +94,7 @@ public class CartPage extends BasePage {
         int itemIndex = getItemIndexByName(itemName);
         WebElement item = cartItemsWebElements.get(itemIndex);
         WebElement itemRemoveButton = item.findElement(By.tagName("button"));
-        clickWhenClickable(itemRemoveButton);
+        clickAndWaitForQuiescence(itemRemoveButton);
         getCartItems();
     }
 
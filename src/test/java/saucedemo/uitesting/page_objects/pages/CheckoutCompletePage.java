@@ -9,8 +9,14 @@ import org.openqa.selenium.WebDriver;
  */
 public class CheckoutCompletePage extends BasePage {
 
+    /**
+     * Constructor to set the WebDriver instance.
+     *
+     * @param driver the WebDriver instance
+     */
     public CheckoutCompletePage(WebDriver driver) {
         super(driver);
+        recordPagePerformance();
     }
 
     /**
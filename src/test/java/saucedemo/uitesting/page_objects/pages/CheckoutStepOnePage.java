@@ -1,9 +1,14 @@
 package saucedemo.uitesting.page_objects.pages;
 
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
+import saucedemo.uitesting.utils.FormFiller;
+
+import java.time.Duration;
 
 /**
  * CheckoutStepOnePage class represents the first step of the checkout process in the application.
@@ -11,39 +16,104 @@ import org.openqa.selenium.support.PageFactory;
  */
 public class CheckoutStepOnePage extends BasePage {
 
+    // Returns the validation error, closing it so the next submission shows its own error, an empty string once
+    // the Checkout Step Two page is displayed, or null while the submission has no visible outcome yet
+    private static final String READ_SUBMISSION_OUTCOME_SCRIPT =
+            "var error = document.querySelector('[data-test=\"error\"]');" +
+            "if (error) {" +
+            "  var text = error.innerText.trim();" +
+            "  var button = error.querySelector('button');" +
+            "  if (button) { button.click(); }" +
+            "  return text;" +
+            "}" +
+            "return location.pathname.indexOf('checkout-step-two.html') >= 0 ? '' : null;";
+
+    private static final Duration SUBMISSION_TIMEOUT = Duration.ofSeconds(20);
+
     @FindBy(id = "first-name")
-    private WebElement firstNameInput;
+    WebElement firstNameInput;
 
     @FindBy(id = "last-name")
-    private WebElement lastNameInput;
+    WebElement lastNameInput;
 
     @FindBy(id = "postal-code")
-    private WebElement postalCodeInput;
+    WebElement postalCodeInput;
 
     @FindBy(id = "continue")
-    private WebElement continueButton;
+    WebElement continueButton;
 
     /**
-     * Constructor to set the WebDriver instance and initialize the page elements.
+     * Constructor to set the WebDriver instance and bind the page elements.
      *
      * @param driver the WebDriver instance
      */
     public CheckoutStepOnePage(WebDriver driver) {
         super(driver);
-        PageFactory.initElements(driver, this);
+        CheckoutStepOnePage_Binding.bind(this, driver, domVersion);
+        recordPagePerformance();
     }
 
     /**
      * Enters the given first name, last name, and postal code into their respective input fields.
+     * The fields are filled at once, in a single script execution with the "script" input strategy.
      *
      * @param firstName  the first name to enter
      * @param lastName   the last name to enter
      * @param postalCode the postal code to enter
      */
     public void enterInformation(String firstName, String lastName, String postalCode) {
-        firstNameInput.sendKeys(firstName);
-        lastNameInput.sendKeys(lastName);
-        postalCodeInput.sendKeys(postalCode);
+        new FormFiller(driver)
+                .field(firstNameInput, firstName)
+                .field(lastNameInput, lastName)
+                .field(postalCodeInput, postalCode)
+                .fill();
+    }
+
+    /**
+     * Empties the first name, last name, and postal code fields with a single script execution.
+     */
+    public void clearInformation() {
+        new FormFiller(driver)
+                .field(firstNameInput, "")
+                .field(lastNameInput, "")
+                .field(postalCodeInput, "")
+                .clear();
+    }
+
+    /**
+     * Clicks the Continue button to have the information validated, and waits for its outcome: either the validation
+     * error, which is closed once read so the form is ready for the next information without reloading the page,
+     * or the Checkout Step Two page, see {@link #returnFromNextStep()}.
+     *
+     * @return the validation error message, or an empty string if the browser moved to the Checkout Step Two page
+     * @throws TimeoutException if neither an error nor the Checkout Step Two page shows up within 20 seconds
+     */
+    public String submitInformation() {
+        clickWhenClickable(continueButton);
+        return waits.until(currentDriver -> (String) ((JavascriptExecutor) currentDriver)
+                .executeScript(READ_SUBMISSION_OUTCOME_SCRIPT), SUBMISSION_TIMEOUT);
+    }
+
+    /**
+     * Goes back to this page after accepted information moved the browser to the Checkout Step Two page.
+     * SauceDemo routes on the client side, so going back in the history renders the form again without a reload.
+     * The page is opened again directly if the history doesn't lead back to it.
+     */
+    public void returnFromNextStep() {
+        driver.navigate().back();
+        waitForQuiescence();
+        if (!driver.getCurrentUrl().contains("checkout-step-one.html")) {
+            reopen();
+        }
+    }
+
+    /**
+     * Opens this page again directly, when the outcome of a submission is unknown.
+     * The cart is kept in the browser storage, so the page shows the same checkout.
+     */
+    public void reopen() {
+        visit(url("checkout-step-one.html"));
+        waitForElement(By.id("first-name"));
     }
 
     /**
@@ -52,7 +122,7 @@ public class CheckoutStepOnePage extends BasePage {
      * @return an instance of CheckoutStepTwoPage
      */
     public CheckoutStepTwoPage clickContinueButton() {
-        clickWhenClickable(continueButton);
+        clickAndWaitForQuiescence(continueButton);
         return new CheckoutStepTwoPage(driver);
     }
 }
@@ -1,13 +1,12 @@
 package saucedemo.uitesting.page_objects.pages;
 
-import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import saucedemo.uitesting.models.Item;
+import saucedemo.uitesting.utils.ItemListExtractor;
+import saucedemo.uitesting.utils.ItemListExtractor.Field;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,31 +15,36 @@ import java.util.List;
  */
 public class CheckoutStepTwoPage extends BasePage {
 
-    @FindBy(id = "finish")
-    private WebElement finishButton;
+    private static final ItemListExtractor OVERVIEW_ITEMS_EXTRACTOR = new ItemListExtractor.Builder(".cart_item")
+            .field(Field.NAME, ".inventory_item_name")
+            .field(Field.DESCRIPTION, ".inventory_item_desc")
+            .field(Field.PRICE, ".inventory_item_price")
+            .field(Field.QUANTITY, ".cart_quantity")
+            .build();
 
-    @FindBy(className = "cart_item")
-    private List<WebElement> checkoutOverViewItemsWebElements;
+    @FindBy(id = "finish")
+    WebElement finishButton;
 
     @FindBy(className = "summary_subtotal_label")
-    private WebElement itemTotalLabel;
+    WebElement itemTotalLabel;
 
     @FindBy(className = "summary_tax_label")
-    private WebElement taxLabel;
+    WebElement taxLabel;
 
     @FindBy(className = "summary_total_label")
-    private WebElement totalLabel;
+    WebElement totalLabel;
 
     private List<Item> checkoutOverviewItems;
 
     /**
-     * Constructor to set the WebDriver instance and initialize the page elements.
+     * Constructor to set the WebDriver instance and bind the page elements.
      *
      * @param driver the WebDriver instance
      */
     public CheckoutStepTwoPage(WebDriver driver) {
         super(driver);
-        PageFactory.initElements(driver, this);
+        CheckoutStepTwoPage_Binding.bind(this, driver, domVersion);
+        recordPagePerformance();
     }
 
     /**
@@ -49,34 +53,18 @@ public class CheckoutStepTwoPage extends BasePage {
      * @return A new instance of the CheckoutCompletePage.
      */
     public CheckoutCompletePage  clickFinishButton() {
-        clickWhenClickable(finishButton);
+        clickAndWaitForQuiescence(finishButton);
         return new CheckoutCompletePage(driver);
     }
 
     /**
-     * Retrieves a list of Item objects representing the items on the Checkout Step Two page.
+     * Retrieves a list of Item objects representing the items on the Checkout Step Two page,
+     * with a single script execution.
      *
-     * @return a list of Item objects
+     * @return an unmodifiable list of Item objects
      */
     public List<Item> getCheckoutOverviewItems() {
-        List<Item> items = new ArrayList<>();
-
-        for (WebElement item : checkoutOverViewItemsWebElements) {
-            String name = item.findElement(By.className("inventory_item_name")).getText();
-            String description = item.findElement(By.className("inventory_item_desc")).getText();
-            String price = item.findElement(By.className("inventory_item_price")).getText();
-            String quantity = item.findElement(By.className("cart_quantity")).getText();
-
-            items.add(new Item.Builder()
-                    .name(name)
-                    .description(description)
-                    .price(price)
-                    .quantity(quantity)
-                    .build()
-            );
-        }
-
-        checkoutOverviewItems = items;
+        checkoutOverviewItems = OVERVIEW_ITEMS_EXTRACTOR.extract(driver);
         return checkoutOverviewItems;
     }
 
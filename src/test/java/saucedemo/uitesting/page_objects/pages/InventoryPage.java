@@ -1,15 +1,23 @@
 package saucedemo.uitesting.page_objects.pages;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.pagefactory.AjaxElementLocatorFactory;
 import saucedemo.uitesting.models.Item;
+import saucedemo.uitesting.utils.ItemListExtractor;
+import saucedemo.uitesting.utils.ItemListExtractor.Field;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * InventoryPage class represents the inventory page of the application.
@@ -17,48 +25,71 @@ import java.util.List;
  */
 public class InventoryPage extends BasePage {
 
+    private static final ItemListExtractor INVENTORY_ITEMS_EXTRACTOR = new ItemListExtractor.Builder(".inventory_item")
+            .field(Field.NAME, ".inventory_item_name")
+            .field(Field.DESCRIPTION, ".inventory_item_desc")
+            .field(Field.PRICE, ".inventory_item_price")
+            .field(Field.BUTTON_TEXT, "button")
+            .build();
+
+    // Clicks the button of every inventory item at the given indexes, in order
+    private static final String CLICK_ITEM_BUTTONS_SCRIPT =
+            "var rows = document.querySelectorAll('.inventory_item');" +
+            "arguments[0].forEach(function (index) { rows[index].querySelector('button').click(); });";
+
+    private static final String ADD_TO_CART = "Add to cart";
+    private static final String REMOVE = "Remove";
+
     // Locators
     @FindBy(css = ".inventory_item")
-    private List<WebElement> inventoryItemsWebElements;
+    List<WebElement> inventoryItemsWebElements;
 
     private List<Item> inventoryItems;
-    private List<Item> selectedItems = new ArrayList<>();
+    private Map<String, Integer> itemIndexByName;
+    private boolean inventoryItemsStale = true;
+    private final List<Item> selectedItems = new ArrayList<>();
 
     /**
-     * Constructor to set the WebDriver instance and initialize the PageFactory elements.
+     * Constructor to set the WebDriver instance and bind the page elements.
      *
      * @param driver the WebDriver instance
      */
     public InventoryPage(WebDriver driver) {
         super(driver);
-        PageFactory.initElements(new AjaxElementLocatorFactory(driver, 20), this);
+        InventoryPage_Binding.bind(this, driver, domVersion);
+        waitForElement(By.cssSelector(".inventory_item"));
+        recordPagePerformance();
         getInventoryItems();
     }
 
     /**
      * Retrieves all inventory items displayed on the inventory page.
+     * The items are read once and kept as a snapshot, which is only read again after
+     * an action of this page changed the inventory.
      *
-     * @return a list of InventoryItem objects
+     * @return an unmodifiable list of InventoryItem objects
      */
     public List<Item> getInventoryItems() {
-        List<Item> items = new ArrayList<>();
-
-        for (WebElement item : inventoryItemsWebElements) {
-            String name = item.findElement(By.cssSelector(".inventory_item_name")).getText();
-            String description = item.findElement(By.cssSelector(".inventory_item_desc")).getText();
-            String price = item.findElement(By.cssSelector(".inventory_item_price")).getText();
-            String buttonText = item.findElement(By.tagName("button")).getText();
-
-            items.add(new Item.Builder()
-                    .name(name)
-                    .description(description)
-                    .price(price)
-                    .buttonText(buttonText)
-                    .build());
+        if (inventoryItemsStale) {
+            readInventoryItems();
+        }
+        return inventoryItems;
+    }
+
+    /**
+     * Reads all inventory items with a single script execution and indexes them by name.
+     */
+    private void readInventoryItems() {
+        List<Item> items = INVENTORY_ITEMS_EXTRACTOR.extract(driver);
+
+        Map<String, Integer> indexByName = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            indexByName.putIfAbsent(items.get(i).getName().toLowerCase(Locale.ROOT), i);
         }
 
         inventoryItems = items;
-        return inventoryItems;
+        itemIndexByName = indexByName;
+        inventoryItemsStale = false;
     }
 
     /**
@@ -72,15 +103,16 @@ public class InventoryPage extends BasePage {
 
     /**
      * Clicks on the button of an inventory item by index.
-     * Waits for the button to be clickable with a timeout of 20 seconds.
+     * Waits for the button to be clickable, then for the page to be quiet, with a timeout of 20 seconds each.
      *
      * @param index the index of the item in the inventory list (0-based)
      */
     public void clickItemButtonByIndex(int index) {
         // clicking inventory item
         WebElement itemButton = inventoryItemsWebElements.get(index).findElement(By.tagName("button"));
-        clickWhenClickable(itemButton);
-        getInventoryItems();
+        clickAndWaitForQuiescence(itemButton);
+        // the button text changed, the snapshot is read again on next use
+        inventoryItemsStale = true;
     }
 
     /**
@@ -92,12 +124,10 @@ public class InventoryPage extends BasePage {
      */
     public void selectItemToPurchase(String itemName) throws Exception {
         int itemIndex = getItemIndexByName(itemName);
-        WebElement item = inventoryItemsWebElements.get(itemIndex);
-        WebElement itemNameElement = item.findElement(By.tagName("button"));
-        String buttonText = itemNameElement.getText();
-        if (buttonText.equals("Add to cart")){
+        String buttonText = getInventoryItems().get(itemIndex).getButtonText();
+        if (buttonText.equals(ADD_TO_CART)){
             clickItemButtonByIndex(itemIndex);
-            selectedItems.add(inventoryItems.get(itemIndex));
+            selectedItems.add(getInventoryItems().get(itemIndex));
         }
     }
 
@@ -110,10 +140,8 @@ public class InventoryPage extends BasePage {
      */
     public void deselectItemToPurchase(String itemName) throws Exception {
         int itemIndex = getItemIndexByName(itemName);
-        WebElement item = inventoryItemsWebElements.get(itemIndex);
-        WebElement itemNameElement = item.findElement(By.tagName("button"));
-        String buttonText = itemNameElement.getText();
-        if (buttonText.equals("Remove")){
+        String buttonText = getInventoryItems().get(itemIndex).getButtonText();
+        if (buttonText.equals(REMOVE)){
             clickItemButtonByIndex(itemIndex);
             // remove from selected items
             int index = -1;
@@ -127,6 +155,72 @@ public class InventoryPage extends BasePage {
         }
     }
 
+    /**
+     * Clicks on the Add To Cart button of several inventory items at once.
+     * The names are resolved against one snapshot, the buttons are clicked with a single script execution,
+     * then the page is read once to verify that every item was added. Items already in the cart are skipped.
+     *
+     * @param itemNames the names of the items, the selected items are added in this order
+     * @throws Exception if an item name is not found, or an item was not added to the cart
+     */
+    public void selectItemsToPurchase(Collection<String> itemNames) throws Exception {
+        List<Integer> itemIndexes = clickItemButtons(itemNames, ADD_TO_CART, REMOVE);
+        for (int itemIndex : itemIndexes) {
+            selectedItems.add(getInventoryItems().get(itemIndex));
+        }
+    }
+
+    /**
+     * Clicks on the Remove button of several inventory items at once.
+     * The names are resolved against one snapshot, the buttons are clicked with a single script execution,
+     * then the page is read once to verify that every item was removed. Items not in the cart are skipped.
+     *
+     * @param itemNames the names of the items
+     * @throws Exception if an item name is not found, or an item was not removed from the cart
+     */
+    public void deselectItemsToPurchase(Collection<String> itemNames) throws Exception {
+        List<Integer> itemIndexes = clickItemButtons(itemNames, REMOVE, ADD_TO_CART);
+        Set<String> removedNames = new HashSet<>();
+        for (int itemIndex : itemIndexes) {
+            removedNames.add(getInventoryItems().get(itemIndex).getName());
+        }
+        selectedItems.removeIf(item -> removedNames.contains(item.getName()));
+    }
+
+    /**
+     * Clicks, in a single script execution, the buttons of the named items that show the given text,
+     * then checks that they all show the expected text afterwards.
+     *
+     * @return the indexes of the clicked items, in the order of the names
+     */
+    private List<Integer> clickItemButtons(Collection<String> itemNames, String buttonText, String expectedButtonText)
+            throws Exception {
+        Set<Integer> itemIndexes = new LinkedHashSet<>();
+        for (String itemName : itemNames) {
+            int itemIndex = getItemIndexByName(itemName);
+            if (getInventoryItems().get(itemIndex).getButtonText().equals(buttonText)) {
+                itemIndexes.add(itemIndex);
+            }
+        }
+        if (itemIndexes.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Integer> clickedIndexes = new ArrayList<>(itemIndexes);
+        ((JavascriptExecutor) driver).executeScript(CLICK_ITEM_BUTTONS_SCRIPT, clickedIndexes);
+        waitForQuiescence();
+        inventoryItemsStale = true;
+
+        List<Item> items = getInventoryItems();
+        for (int itemIndex : clickedIndexes) {
+            if (!items.get(itemIndex).getButtonText().equals(expectedButtonText)) {
+                throw new Exception("Item button not updated: " + items.get(itemIndex).getName()
+                        + " shows " + items.get(itemIndex).getButtonText() + " instead of " + expectedButtonText);
+            }
+        }
+        return clickedIndexes;
+    }
+
     /**
      * Get the index of the inventory item by its name.
      *
@@ -135,14 +229,14 @@ public class InventoryPage extends BasePage {
      * @throws Exception If the item name is not found in the list.
      */
     private int getItemIndexByName(String itemName) throws Exception {
-        for (int i = 0; i < inventoryItemsWebElements.size(); i++) {
-            WebElement item = inventoryItemsWebElements.get(i);
-            WebElement itemNameElement = item.findElement(By.cssSelector(".inventory_item_name"));
-            String currentItemName = itemNameElement.getText();
-            if (currentItemName.equalsIgnoreCase(itemName)) {
-                return i;
-            }
+        // item names don't change when buttons are clicked, so a stale snapshot still has valid indexes
+        if (itemIndexByName == null) {
+            readInventoryItems();
+        }
+        Integer index = itemIndexByName.get(itemName.toLowerCase(Locale.ROOT));
+        if (index == null) {
+            throw new Exception("Item not found: " + itemName);
         }
-        throw new Exception("Item not found: " + itemName);
+        return index;
     }
 }
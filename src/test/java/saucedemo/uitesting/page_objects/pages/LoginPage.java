@@ -1,9 +1,10 @@
 package saucedemo.uitesting.page_objects.pages;
 
+import org.openqa.selenium.Cookie;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
+import saucedemo.uitesting.utils.FormFiller;
 
 /**
  * LoginPage class represents the login page of the application.
@@ -13,33 +14,35 @@ public class LoginPage extends BasePage {
 
     // Locators
     @FindBy(id = "user-name")
-    private WebElement usernameField;
+    WebElement usernameField;
 
     @FindBy(id = "password")
-    private WebElement passwordField;
+    WebElement passwordField;
 
     @FindBy(id = "login-button")
-    private WebElement loginButton;
+    WebElement loginButton;
 
     @FindBy(css = ".error-message-container.error")
-    private WebElement errorMessageContainer;
+    WebElement errorMessageContainer;
 
     /**
-     * Constructor to set the WebDriver instance and initialize the PageFactory elements.
+     * Constructor to set the WebDriver instance and bind the page elements.
      *
      * @param driver the WebDriver instance
      */
     public LoginPage(WebDriver driver) {
         super(driver);
-        PageFactory.initElements(driver, this);
+        LoginPage_Binding.bind(this, driver, domVersion);
     }
 
     /**
-     * Navigates to the login page: https://www.saucedemo.com/
+     * Navigates to the login page, at the configured base URL, by default https://www.saucedemo.com/
+     * The login page is created before the browser displays it, so its performance is recorded here.
      *
      */
     public void visit(){
-        visit("https://www.saucedemo.com/");
+        visit(url(""));
+        recordPagePerformance();
     }
 
     /**
@@ -48,7 +51,7 @@ public class LoginPage extends BasePage {
      * @param username the username to enter
      */
     public void enterUsername(String username) {
-        usernameField.sendKeys(username);
+        new FormFiller(driver).field(usernameField, username).fill();
     }
 
     /**
@@ -57,7 +60,15 @@ public class LoginPage extends BasePage {
      * @param password the password to enter
      */
     public void enterPassword(String password) {
-        passwordField.sendKeys(password);
+        new FormFiller(driver).field(passwordField, password).fill();
+    }
+
+    /**
+     * Clicks the Login button and waits for the page to be quiet, staying on this page object.
+     * Use it when the login is expected to fail, then read the error with {@link #getErrorMessage()}.
+     */
+    public void submitLogin() {
+        clickAndWaitForQuiescence(loginButton);
     }
 
     /**
@@ -66,12 +77,13 @@ public class LoginPage extends BasePage {
      * @return an instance of InventoryPage
      */
     public InventoryPage clickLoginButton() {
-        clickWhenClickable(loginButton);
+        submitLogin();
         return new InventoryPage(driver);
     }
 
     /**
      * Performs the login action using the specified username and password.
+     * Both fields are filled at once, in a single script execution with the "script" input strategy.
      *
      * @param username the username to enter
      * @param password the password to enter
@@ -79,11 +91,30 @@ public class LoginPage extends BasePage {
      * @return an instance of InventoryPage
      */
     public InventoryPage login(String username, String password) {
-        enterUsername(username);
-        enterPassword(password);
+        new FormFiller(driver)
+                .field(usernameField, username)
+                .field(passwordField, password)
+                .fill();
         return clickLoginButton();
     }
 
+    /**
+     * Logs in by setting the session cookie of the user directly, skipping the login form.
+     * A lightweight resource of the site is opened first, since cookies can only be set for the current domain.
+     * Use {@link #login(String, String)} when the login form itself is under test.
+     *
+     * @param username the user to log in as
+     *
+     * @return an instance of InventoryPage
+     */
+    public InventoryPage loginWithSession(String username) {
+        // any document of the site will do to set the cookie, the smallest one is not worth waiting for
+        driver.get(url("favicon.ico"));
+        driver.manage().addCookie(new Cookie("session-username", username, "/"));
+        visit(url("inventory.html"));
+        return new InventoryPage(driver);
+    }
+
     /**
      * Gets the error message text displayed on the login page.
      *
@@ -3,8 +3,6 @@ package saucedemo.uitesting.page_objects.sections;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.pagefactory.AjaxElementLocatorFactory;
 import saucedemo.uitesting.page_objects.pages.BasePage;
 import saucedemo.uitesting.page_objects.pages.CartPage;
 
@@ -12,16 +10,16 @@ public class HeaderSection extends BasePage {
 
     // Locators
     @FindBy(css = ".shopping_cart_link")
-    private WebElement cartIcon;
+    WebElement cartIcon;
 
     /**
-     * Constructor to set the WebDriver instance and initialize the PageFactory elements.
+     * Constructor to set the WebDriver instance and bind the page elements.
      *
      * @param driver the WebDriver instance
      */
     public HeaderSection(WebDriver driver) {
         super(driver);
-        PageFactory.initElements(new AjaxElementLocatorFactory(driver, 20), this);
+        HeaderSection_Binding.bind(this, driver, domVersion);
     }
 
     /**
@@ -30,7 +28,7 @@ public class HeaderSection extends BasePage {
      * @return an instance of CartPage
      */
     public CartPage clickCartIcon() {
-        clickWhenClickable(cartIcon);
+        clickAndWaitForQuiescence(cartIcon);
         return new CartPage(driver);
     }
 
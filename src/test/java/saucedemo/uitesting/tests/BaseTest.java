@@ -1,23 +1,31 @@
 package saucedemo.uitesting.tests;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.WebDriver;
 import saucedemo.uitesting.config.ConfigurationLoader;
 import saucedemo.uitesting.config.TestConfiguration;
+import saucedemo.uitesting.extensions.CommandMetricsExtension;
+import saucedemo.uitesting.extensions.PagePerformanceExtension;
+import saucedemo.uitesting.extensions.ScreenshotOnFailureExtension;
 import saucedemo.uitesting.factories.DriverFactory;
 import saucedemo.uitesting.models.TestData;
 import saucedemo.uitesting.page_objects.pages.LoginPage;
-
-import java.io.File;
-import java.io.IOException;
+import saucedemo.uitesting.utils.LocalSaucedemoServer;
+import saucedemo.uitesting.utils.ScreenshotUtils;
+import saucedemo.uitesting.utils.TestDataRegistry;
 
 /**
  * BaseTest is an abstract class that serves as a base for all test classes. It
  * provides common setup and teardown methods for managing the WebDriver and
  * loading test data.
+ * <p>
+ * JUnit creates a new test instance for every test method, so these fields are
+ * confined to the thread running that test, also when tests run in parallel.
  */
+@ExtendWith({ScreenshotOnFailureExtension.class, CommandMetricsExtension.class, PagePerformanceExtension.class})
 public abstract class BaseTest {
 
     protected WebDriver driver;
@@ -25,6 +33,15 @@ public abstract class BaseTest {
     protected TestData testData;
     protected LoginPage loginPage;
 
+    /**
+     * Start the local SauceDemo server when the tests run against a recorded archive.
+     * The server is started only once per JVM, no matter how many test classes there are.
+     */
+    @BeforeAll
+    public static void startLocalSaucedemo() {
+        LocalSaucedemoServer.startIfEnabled(ConfigurationLoader.getConfiguration());
+    }
+
     /**
      * Set up the test environment before each test, creating a WebDriver instance,
      * loading the test configuration, and initializing the LoginPage.
@@ -33,37 +50,37 @@ public abstract class BaseTest {
      */
     @BeforeEach
     public void setUp() throws Exception {
-        // loading browser and headlessMode flag from test configuration
-        config = ConfigurationLoader.loadConfiguration();
-        String browser = config.getBrowser();
-        boolean headlessMode = config.isHeadlessMode();
+        // loading browser, headlessMode flag and driver mode from test configuration
+        config = ConfigurationLoader.getConfiguration();
 
-        // Getting driver from factory
-        driver = DriverFactory.createDriver(browser, headlessMode);
+        // Getting driver from factory, a warm one is reused in pooled mode
+        driver = DriverFactory.acquireDriver(config);
 
         // Initialize login page
         loginPage = new LoginPage(driver);
     }
 
     /**
-     * Load the test data from the specified JSON file.
+     * Load the test data of the specified data file, parsed once per JVM by the TestDataRegistry.
      *
-     * @param testDataPath the path to the JSON file containing the test data.
-     * @throws IOException if there's an issue loading the test data from the file.
+     * @param testDataName the name of the data file without the "_data.json" suffix, e.g., "purchase_flow".
      */
-    public void loadTestData(String testDataPath) throws IOException {
-        // Load test data from the JSON file
-        ObjectMapper objectMapper = new ObjectMapper();
-        testData = objectMapper.readValue(new File(testDataPath), TestData.class);
+    public void loadTestData(String testDataName) {
+        testData = TestDataRegistry.get(testDataName);
     }
 
     /**
-     * Clean up the test environment after each test, quitting the WebDriver.
+     * Clean up the test environment after each test, waiting for the screenshots to be written
+     * and quitting the WebDriver or returning it to the pool in pooled mode.
      */
     @AfterEach
     public void tearDown() {
-        if (driver != null) {
-            driver.quit();
+        try {
+            ScreenshotUtils.flushScreenshots();
+        } finally {
+            if (driver != null) {
+                DriverFactory.releaseDriver(driver, config);
+            }
         }
     }
 }
@@ -6,8 +6,10 @@ import saucedemo.uitesting.models.Item;
 import saucedemo.uitesting.page_objects.pages.CartPage;
 import saucedemo.uitesting.page_objects.pages.InventoryPage;
 import saucedemo.uitesting.page_objects.sections.HeaderSection;
+import saucedemo.uitesting.utils.CartFixture;
 import saucedemo.uitesting.utils.ScreenshotUtils;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -17,10 +19,11 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class CartTests extends BaseTest{
 
+    private static final List<String> CART_ITEMS = Arrays.asList("Sauce Labs Bike Light", "Sauce Labs Bolt T-Shirt",
+            "Sauce Labs Onesie", "Test.allTheThings() T-Shirt (Red)");
+
     private InventoryPage inventoryPage;
     private HeaderSection headerSection;
-    private CartPage cartPage;
-    private List<Item> selectedInventoryItems;
 
     /**
      * Set up method for CartTests. Inherits from BaseTest and performs additional setup.
@@ -30,37 +33,33 @@ public class CartTests extends BaseTest{
     @Override
     public void setUp() throws Exception {
         super.setUp();
-        loadTestData("src/test/resources/purchase_flow_data.json");
-
-        // Go to  login page
-        loginPage.visit();
+        loadTestData("purchase_flow");
 
-        // Get login credentials from test data file
+        // Get the user from test data file
         String username = testData.getUsername();
-        String password = testData.getPassword();
-
-        // Login and get to the Inventory page
-        inventoryPage = loginPage.login(username, password);
-
-        inventoryPage.selectItemToPurchase("Sauce Labs Bike Light");
-        inventoryPage.selectItemToPurchase("Sauce Labs Bolt T-Shirt");
-        inventoryPage.selectItemToPurchase("Sauce Labs Onesie");
-        inventoryPage.selectItemToPurchase("Test.allTheThings() T-Shirt (Red)");
-
-        ScreenshotUtils.takeScreenshot(driver, "Selected Items");
-
-        selectedInventoryItems = inventoryPage.getSelectedInventoryItems();
 
+        // Login with the session cookie and get to the Inventory page
+        inventoryPage = loginPage.loginWithSession(username);
         headerSection = new HeaderSection(driver);
-        cartPage = headerSection.clickCartIcon();
     }
 
     /**
      * Test that items in the cart preserve their selection order.
+     * @throws Exception if there's any issue during the test execution.
      */
     @Test
-    public void itemsPreserveSelectionOrder(){
+    public void itemsPreserveSelectionOrder() throws Exception {
+
+        // Select the items in the inventory page, the selection order is what this test checks
+        for (String cartItem : CART_ITEMS) {
+            inventoryPage.selectItemToPurchase(cartItem);
+        }
 
+        ScreenshotUtils.takeScreenshot(driver, "Selected Items");
+
+        List<Item> selectedInventoryItems = inventoryPage.getSelectedInventoryItems();
+
+        CartPage cartPage = headerSection.clickCartIcon();
         List<Item> cartItems = cartPage.getCartItems();
 
         // Check that the items selected in the inventory page, also appear in the
@@ -86,6 +85,9 @@ public class CartTests extends BaseTest{
      */
     @Test
     public void removeItemsFromCart() throws Exception {
+        // Fill the cart directly, this test is about removing items
+        CartPage cartPage = new CartFixture(driver).seedCart(CART_ITEMS).openCart();
+
         List<Item> cartItems = cartPage.getCartItems();
 
         // Remove the first 2 items in the cart
@@ -0,0 +1,74 @@
+package saucedemo.uitesting.tests;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import saucedemo.uitesting.models.CheckoutValidationCase;
+import saucedemo.uitesting.page_objects.pages.CheckoutStepOnePage;
+import saucedemo.uitesting.utils.CartFixture;
+import saucedemo.uitesting.validation.CheckoutValidationRunner;
+
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class validates the checkout information form against the checkout_validation_cases.jsonl matrix.
+ * All the cases run on the same Checkout Step One page, the verdicts are written to
+ * target/checkout-validation/verdicts.jsonl as they are known.
+ */
+public class CheckoutValidationTests extends BaseTest {
+
+    private static final String VALIDATION_CASES = "/checkout_validation_cases.jsonl";
+    private static final Path EXPORT_DIRECTORY = Paths.get("target", "checkout-validation");
+
+    private CheckoutStepOnePage checkoutStepOnePage;
+
+    /**
+     * Set up method for CheckoutValidationTests. Inherits from BaseTest and opens the Checkout Step One page
+     * with one item in the cart.
+     * @throws Exception if there's any issue during the setup.
+     */
+    @BeforeEach
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        loadTestData("purchase_flow");
+
+        loginPage.loginWithSession(testData.getUsername());
+        checkoutStepOnePage = new CartFixture(driver)
+                .seedCart(Collections.singletonList(testData.getItemsToPurchase()[0]))
+                .openCheckout();
+    }
+
+    /**
+     * Test that every case of the validation matrix shows the expected error, or is accepted.
+     * @throws Exception if there's any issue during the test execution.
+     */
+    @Test
+    public void checkoutInformationValidation() throws Exception {
+        Files.createDirectories(EXPORT_DIRECTORY);
+        Path verdictsFile = EXPORT_DIRECTORY.resolve("verdicts.jsonl");
+
+        CheckoutValidationRunner.Summary summary;
+        try (InputStream input = CheckoutValidationTests.class.getResourceAsStream(VALIDATION_CASES);
+             MappingIterator<CheckoutValidationCase> cases = new ObjectMapper()
+                     .readerFor(CheckoutValidationCase.class).readValues(input);
+             Writer verdicts = Files.newBufferedWriter(verdictsFile)) {
+            summary = new CheckoutValidationRunner(checkoutStepOnePage).run(cases, verdicts);
+        }
+        Allure.addAttachment("Checkout validation verdicts", "application/json",
+                Files.newInputStream(verdictsFile), ".jsonl");
+
+        assertTrue(summary.getCases() > 0, "No validation case was run");
+        assertEquals(0, summary.getFailedCases(), summary.getFailedCases() + " of " + summary.getCases()
+                + " validation cases failed:\n" + String.join("\n", summary.getFailures()));
+    }
+}
@@ -25,19 +25,13 @@ public class InventoryTests extends BaseTest{
     @Override
     public void setUp() throws Exception {
         super.setUp();
-        loadTestData("src/test/resources/purchase_flow_data.json");
+        loadTestData("purchase_flow");
 
-        // Go to  login page
-        loginPage.visit();
-
-        ScreenshotUtils.takeScreenshot(driver, "Login Page");
-
-        // Get login credentials from test data file
+        // Get the user from test data file
         String username = testData.getUsername();
-        String password = testData.getPassword();
 
-        // Login and get to the Inventory page
-        inventoryPage = loginPage.login(username, password);
+        // Login with the session cookie and get to the Inventory page
+        inventoryPage = loginPage.loginWithSession(username);
 
         // get header section
         headerSection = new HeaderSection(driver);
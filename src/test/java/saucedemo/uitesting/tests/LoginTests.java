@@ -18,7 +18,7 @@ public class LoginTests extends BaseTest {
     public void lockedOutUser() throws Exception {
 
         // Load test data from the JSON file
-        loadTestData("src/test/resources/locked_out_user_data.json");
+        loadTestData("locked_out_user");
 
         // Go to  login page
         loginPage.visit();
@@ -29,8 +29,10 @@ public class LoginTests extends BaseTest {
         String username = testData.getUsername();
         String password = testData.getPassword();
 
-        // Login and get to the Inventory page
-        loginPage.login(username, password);
+        // Submit the login form, the user stays on the Login page
+        loginPage.enterUsername(username);
+        loginPage.enterPassword(password);
+        loginPage.submitLogin();
 
         // Check that the locked out user error message is displayed
         assertEquals("Epic sadface: Sorry, this user has been locked out.",
@@ -55,8 +57,10 @@ public class LoginTests extends BaseTest {
         String username = "thisuserdoesntexist";
         String password = "somepassword";
 
-        // Login and get to the Inventory page
-        loginPage.login(username, password);
+        // Submit the login form, the user stays on the Login page
+        loginPage.enterUsername(username);
+        loginPage.enterPassword(password);
+        loginPage.submitLogin();
 
         // Check that the invalid credentials error message is displayed
         assertEquals("Epic sadface: Username and password do not match any user in this service",
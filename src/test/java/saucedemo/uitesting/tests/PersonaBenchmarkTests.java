@@ -0,0 +1,94 @@
+package saucedemo.uitesting.tests;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import saucedemo.uitesting.load.LoadReport;
+import saucedemo.uitesting.load.PersonaBenchmark;
+import saucedemo.uitesting.utils.TestDataRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Benchmarks the purchase flow for every SauceDemo persona of the "benchmarkPersonas" configuration,
+ * and compares the p95 latency of every step to persona_baseline.json.
+ * The test fails when a persona has failed iterations or unmeasured steps, and is reported as skipped, after writing
+ * its report, when a measured step has no baseline.
+ * The test only runs when the "benchmark" System Property is "true".
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class PersonaBenchmarkTests extends BaseTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Path EXPORT_DIRECTORY = Paths.get("target", "persona-benchmark");
+
+    /**
+     * Run the purchase flow for every persona, report the step latencies side by side,
+     * and fail if a step regressed beyond the threshold against the baseline.
+     * @throws Exception if there's any issue during the test execution.
+     */
+    @Test
+    public void personaLatencies() throws Exception {
+        PersonaBenchmark benchmark = new PersonaBenchmark(driver, TestDataRegistry.get("purchase_flow"),
+                config.getBenchmarkWarmupIterations(), config.getBenchmarkIterations());
+        Map<String, LoadReport> reports = benchmark.run(config.getBenchmarkPersonas());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        for (Map.Entry<String, LoadReport> persona : reports.entrySet()) {
+            report.put(persona.getKey(), persona.getValue().toReport());
+        }
+        String json = OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+        String table = PersonaBenchmark.toTable(reports);
+        // The p95 of this run, to be copied to persona_baseline.json when the new latencies are expected
+        String baseline = OBJECT_MAPPER.writerWithDefaultPrettyPrinter()
+                .writeValueAsString(PersonaBenchmark.toBaseline(reports));
+
+        Files.createDirectories(EXPORT_DIRECTORY);
+        Files.writeString(EXPORT_DIRECTORY.resolve("report.json"), json);
+        Files.writeString(EXPORT_DIRECTORY.resolve("report.txt"), table);
+        Files.writeString(EXPORT_DIRECTORY.resolve("baseline.json"), baseline);
+        Allure.addAttachment("Persona benchmark", "text/plain", table, ".txt");
+        Allure.addAttachment("Persona benchmark report", "application/json", json, ".json");
+
+        List<String> incompletePersonas = PersonaBenchmark.findIncompletePersonas(reports);
+        if (!incompletePersonas.isEmpty()) {
+            fail("Persona benchmark incomplete, its latencies can't be compared:\n"
+                    + String.join("\n", incompletePersonas));
+        }
+
+        Map<String, Map<String, Double>> storedBaseline = loadBaseline();
+        List<String> regressions = PersonaBenchmark.findRegressions(reports, storedBaseline,
+                config.getBenchmarkThresholdPercent());
+        if (!regressions.isEmpty()) {
+            fail("Persona latency regressed:\n" + String.join("\n", regressions));
+        }
+
+        // Without a baseline nothing was compared, which must not look like a pass
+        List<String> missingBaselines = PersonaBenchmark.findMissingBaselines(reports, storedBaseline);
+        assumeTrue(missingBaselines.isEmpty(), () -> "No baseline in persona_baseline.json for "
+                + String.join(", ", missingBaselines) + ", copy " + EXPORT_DIRECTORY.resolve("baseline.json")
+                + " to the test resources once its latencies are expected");
+    }
+
+    private static Map<String, Map<String, Double>> loadBaseline() throws IOException {
+        try (InputStream baseline = PersonaBenchmarkTests.class.getResourceAsStream("/persona_baseline.json")) {
+            if (baseline == null) {
+                return Collections.emptyMap();
+            }
+            return OBJECT_MAPPER.readValue(baseline, new TypeReference<Map<String, Map<String, Double>>>() { });
+        }
+    }
+}
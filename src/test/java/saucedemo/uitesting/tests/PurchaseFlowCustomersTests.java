@@ -0,0 +1,26 @@
+package saucedemo.uitesting.tests;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import saucedemo.uitesting.extensions.TestDataSource;
+import saucedemo.uitesting.models.TestData;
+
+/**
+ * Runs the purchase flow for every customer of purchase_flow_customers.jsonl, or of the shard of this worker.
+ * Every customer is a full browser purchase flow, so the test only runs when the "customerDataSet"
+ * System Property is "true".
+ */
+@EnabledIfSystemProperty(named = "customerDataSet", matches = "true")
+public class PurchaseFlowCustomersTests extends BaseTest {
+
+    /**
+     * Test the purchase flow for a customer of the data set.
+     * @param customer the customer and the items to purchase
+     * @throws Exception if there's any issue during the test execution.
+     */
+    @ParameterizedTest(name = "[{index}] {0}")
+    @TestDataSource("purchase_flow_customers.jsonl")
+    public void purchaseItemsForCustomer(TestData customer) throws Exception {
+        PurchaseFlowTests.purchaseItems(driver, loginPage, customer);
+    }
+}
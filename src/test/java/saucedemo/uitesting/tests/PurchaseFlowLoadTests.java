@@ -0,0 +1,58 @@
+package saucedemo.uitesting.tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import saucedemo.uitesting.config.ConfigurationLoader;
+import saucedemo.uitesting.config.TestConfiguration;
+import saucedemo.uitesting.load.LoadProfile;
+import saucedemo.uitesting.load.LoadReport;
+import saucedemo.uitesting.load.LoadRunner;
+import saucedemo.uitesting.utils.LocalSaucedemoServer;
+import saucedemo.uitesting.utils.TestDataRegistry;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the purchase flow as a browser-level load test, with the virtual users, duration, iterations, ramp-up
+ * and think time of the "load*" configuration. The test only runs when the "loadTest" System Property is "true".
+ * It does not extend BaseTest, every virtual user gets its own driver from the LoadRunner.
+ */
+@EnabledIfSystemProperty(named = "loadTest", matches = "true")
+public class PurchaseFlowLoadTests {
+
+    private static final Path EXPORT_DIRECTORY = Paths.get("target", "load-report");
+
+    /**
+     * Run the purchase flow with concurrent virtual users and report the latency percentiles
+     * of every step and the throughput.
+     * @throws Exception if there's any issue during the test execution.
+     */
+    @Test
+    public void purchaseFlowUnderLoad() throws Exception {
+        TestConfiguration config = ConfigurationLoader.getConfiguration();
+        LocalSaucedemoServer.startIfEnabled(config);
+
+        LoadRunner loadRunner = new LoadRunner(LoadProfile.fromConfiguration(config), config,
+                TestDataRegistry.get("purchase_flow"));
+        LoadReport report = loadRunner.run();
+
+        String json = new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report.toReport());
+        Files.createDirectories(EXPORT_DIRECTORY);
+        Files.writeString(EXPORT_DIRECTORY.resolve("purchase_flow.json"), json);
+        Allure.addAttachment("Load report", "application/json", json, ".json");
+
+        assertAll("Verify the load run",
+                () -> assertTrue(report.getCompletedIterations() > 0, "At least one iteration should complete"),
+                () -> assertEquals(0, report.getFailedIterations(),
+                        "No iteration should fail, first causes: " + report.getIterationFailureCauses())
+        );
+    }
+}
@@ -2,12 +2,17 @@ package saucedemo.uitesting.tests;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
 import saucedemo.uitesting.models.Item;
+import saucedemo.uitesting.models.TestData;
 import saucedemo.uitesting.page_objects.pages.*;
 import saucedemo.uitesting.page_objects.sections.HeaderSection;
+import saucedemo.uitesting.utils.CartFixture;
 import saucedemo.uitesting.utils.ScreenshotUtils;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -22,7 +27,7 @@ public class PurchaseFlowTests extends BaseTest {
     @Override
     public void setUp() throws Exception {
         super.setUp(); // Call the parent setUp method
-        loadTestData("src/test/resources/purchase_flow_data.json");
+        loadTestData("purchase_flow");
     }
 
     /**
@@ -31,26 +36,29 @@ public class PurchaseFlowTests extends BaseTest {
      */
     @Test
     public void purchaseItems() throws Exception {
+        purchaseItems(driver, loginPage, testData);
+    }
 
-        // Go to  login page
-        loginPage.visit();
-
-        ScreenshotUtils.takeScreenshot(driver, "Login Page");
+    /**
+     * The purchase flow from selecting items to order confirmation, also run by PurchaseFlowCustomersTests.
+     * @param driver the WebDriver instance
+     * @param loginPage the Login page the flow starts from
+     * @param testData the customer and the items to purchase
+     * @throws Exception if there's any issue during the test execution.
+     */
+    static void purchaseItems(WebDriver driver, LoginPage loginPage, TestData testData) throws Exception {
 
-        // Get login credentials from test data file
+        // Get the user from test data file
         String username = testData.getUsername();
-        String password = testData.getPassword();
 
-        // Login and get to the Inventory page
-        InventoryPage inventoryPage = loginPage.login(username, password);
+        // Login with the session cookie and get to the Inventory page
+        InventoryPage inventoryPage = loginPage.loginWithSession(username);
 
         // Get items to purchase from test data file
         String[] itemsToPurchase = testData.getItemsToPurchase();
 
         // Select Inventory Items
-        for (String itemToPurchase: itemsToPurchase) {
-            inventoryPage.selectItemToPurchase(itemToPurchase);
-        }
+        inventoryPage.selectItemsToPurchase(Arrays.asList(itemsToPurchase));
 
         ScreenshotUtils.takeScreenshot(driver, "Selected Items");
 
@@ -159,17 +167,11 @@ public class PurchaseFlowTests extends BaseTest {
      */
     @Test
     public void checkoutWithNoItems() throws Exception {
-        // Go to  login page
-        loginPage.visit();
-
-        ScreenshotUtils.takeScreenshot(driver, "Login Page");
-
-        // Get login credentials from test data file
+        // Get the user from test data file
         String username = testData.getUsername();
-        String password = testData.getPassword();
 
-        // Login and get to the Inventory page
-        InventoryPage inventoryPage = loginPage.login(username, password);
+        // Login with the session cookie and get to the Inventory page
+        InventoryPage inventoryPage = loginPage.loginWithSession(username);
 
         // Check that the shopping cart doesn't have any number displayed
         HeaderSection headerSection = new HeaderSection(driver);
@@ -217,4 +219,38 @@ public class PurchaseFlowTests extends BaseTest {
         ScreenshotUtils.takeScreenshot(driver, "Checkout Step 2 - Overview");
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Test the checkout totals, starting from a cart filled directly with the items to purchase.
+     * @throws Exception if there's any issue during the test execution.
+     */
+    @Test
+    public void checkoutTotalsForSeededCart() throws Exception {
+        // Login with the session cookie and fill the cart without going through the Inventory page
+        loginPage.loginWithSession(testData.getUsername());
+        CheckoutStepOnePage checkoutStepOnePage = new CartFixture(driver)
+                .seedCart(Arrays.asList(testData.getItemsToPurchase()))
+                .openCheckout();
+
+        // Enter information in the Checkout Step One Page
+        checkoutStepOnePage.enterInformation(testData.getFirstName(), testData.getLastName(), testData.getZipcode());
+
+        // Go to the Checkout Step 2 Page
+        CheckoutStepTwoPage checkoutStepTwoPage = checkoutStepOnePage.clickContinueButton();
+        List<Item> checkoutOverviewItems = checkoutStepTwoPage.getCheckoutOverviewItems();
+
+        ScreenshotUtils.takeScreenshot(driver, "Checkout Step 2 - Overview");
+
+        // Check that all the items are displayed, in the order they were added
+        assertEquals(Arrays.asList(testData.getItemsToPurchase()),
+                checkoutOverviewItems.stream().map(Item::getName).collect(Collectors.toList()));
+
+        // Check that Item total is the sum of all the prices, and the total is the sum of all prices + tax
+        double totalPrice = 0;
+        for (Item overviewItem : checkoutOverviewItems) {
+            totalPrice += overviewItem.getPriceAsDouble();
+        }
+        assertEquals(totalPrice, checkoutStepTwoPage.getItemTotal());
+        assertEquals(totalPrice + checkoutStepTwoPage.getTax(), checkoutStepTwoPage.getTotal());
+    }
+}
@@ -0,0 +1,52 @@
+package saucedemo.uitesting.utils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A screenshot as returned by a {@link ScreenshotStrategy}.
+ * Browsers return screenshots already encoded as PNG, which are written as is,
+ * while AShot returns an image that still has to be encoded.
+ */
+public class CapturedScreenshot {
+
+    private final byte[] png;
+    private final BufferedImage image;
+
+    private CapturedScreenshot(byte[] png, BufferedImage image) {
+        this.png = png;
+        this.image = image;
+    }
+
+    /**
+     * @param png the PNG encoded screenshot
+     * @return a CapturedScreenshot holding already encoded bytes
+     */
+    public static CapturedScreenshot ofPng(byte[] png) {
+        return new CapturedScreenshot(png, null);
+    }
+
+    /**
+     * @param image the screenshot image
+     * @return a CapturedScreenshot holding an image to be encoded when written
+     */
+    public static CapturedScreenshot ofImage(BufferedImage image) {
+        return new CapturedScreenshot(null, image);
+    }
+
+    /**
+     * Writes the screenshot as PNG, encoding it first if needed.
+     *
+     * @param outputStream the stream to write to
+     * @throws IOException if the screenshot can't be written
+     */
+    public void writePng(OutputStream outputStream) throws IOException {
+        if (png != null) {
+            outputStream.write(png);
+        } else {
+            ImageIO.write(image, "PNG", outputStream);
+        }
+    }
+}
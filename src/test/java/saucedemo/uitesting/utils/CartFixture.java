@@ -0,0 +1,98 @@
+package saucedemo.uitesting.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import saucedemo.uitesting.config.ConfigurationLoader;
+import saucedemo.uitesting.page_objects.pages.CartPage;
+import saucedemo.uitesting.page_objects.pages.CheckoutStepOnePage;
+import saucedemo.uitesting.page_objects.pages.LoginPage;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * CartFixture writes the cart contents straight into the client-side storage of SauceDemo,
+ * then opens the Cart page or the Checkout Step One page directly, so tests about the cart or the checkout
+ * don't have to add every item through the Inventory page.
+ * The user must be logged in, e.g., with {@link LoginPage#loginWithSession(String)}.
+ * Item names are matched ignoring case, like the Inventory page does.
+ */
+public class CartFixture {
+
+    // SauceDemo keeps the cart as a JSON array of item ids, in the order they were added
+    private static final String CART_STORAGE_KEY = "cart-contents";
+
+    // The ids SauceDemo gives its catalogue items, e.g., inventory-item.html?id=4 for the backpack
+    private static final Map<String, Integer> ITEM_IDS = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        ITEM_IDS.put("Sauce Labs Backpack", 4);
+        ITEM_IDS.put("Sauce Labs Bike Light", 0);
+        ITEM_IDS.put("Sauce Labs Bolt T-Shirt", 1);
+        ITEM_IDS.put("Sauce Labs Fleece Jacket", 5);
+        ITEM_IDS.put("Sauce Labs Onesie", 2);
+        ITEM_IDS.put("Test.allTheThings() T-Shirt (Red)", 3);
+    }
+
+    private final WebDriver driver;
+
+    /**
+     * Constructor to set the WebDriver instance the user is logged in with.
+     *
+     * @param driver the WebDriver instance
+     */
+    public CartFixture(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Replaces the cart contents with the given items, with a single script execution.
+     * The current page must be a page of SauceDemo, the cart is shown once another page is opened.
+     *
+     * @param itemNames the names of the items, in the order they appear in the cart
+     * @return this fixture, to open the page to start from
+     * @throws IllegalArgumentException if an item is not sold by SauceDemo
+     */
+    public CartFixture seedCart(Collection<String> itemNames) {
+        StringJoiner itemIds = new StringJoiner(",", "[", "]");
+        for (String itemName : itemNames) {
+            Integer itemId = ITEM_IDS.get(itemName);
+            if (itemId == null) {
+                throw new IllegalArgumentException("Unknown item: " + itemName
+                        + "\n Known items: " + String.join("|", ITEM_IDS.keySet()) + " ");
+            }
+            itemIds.add(itemId.toString());
+        }
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.setItem(arguments[0], arguments[1]);",
+                CART_STORAGE_KEY, itemIds.toString());
+        return this;
+    }
+
+    /**
+     * Opens the Cart page directly.
+     *
+     * @return an instance of CartPage
+     */
+    public CartPage openCart() {
+        CartPage cartPage = new CartPage(driver);
+        cartPage.visit(url("cart.html"));
+        return cartPage;
+    }
+
+    /**
+     * Opens the Checkout Step One page directly.
+     *
+     * @return an instance of CheckoutStepOnePage
+     */
+    public CheckoutStepOnePage openCheckout() {
+        CheckoutStepOnePage checkoutStepOnePage = new CheckoutStepOnePage(driver);
+        checkoutStepOnePage.visit(url("checkout-step-one.html"));
+        return checkoutStepOnePage;
+    }
+
+    private static String url(String path) {
+        return ConfigurationLoader.getConfiguration().getBaseUrl() + path;
+    }
+}
@@ -0,0 +1,146 @@
+package saucedemo.uitesting.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Count and latency of the WebDriver commands sent by one test, and the time spent waiting,
+ * grouped by the page-object operation that sent them. A recording is bound to the thread running the test, see {@link #start()}.
+ */
+public class CommandMetrics {
+
+    private static final ThreadLocal<CommandMetrics> CURRENT = new ThreadLocal<>();
+
+    private static final String PROJECT_PACKAGE = "saucedemo.uitesting.";
+
+    private final Map<String, Operation> operations = new TreeMap<>();
+    private final Map<String, LatencyHistogram> waits = new TreeMap<>();
+    private final LatencyHistogram allCommands = new LatencyHistogram();
+
+    /**
+     * Starts recording the commands sent by the current thread.
+     */
+    public static void start() {
+        CURRENT.set(new CommandMetrics());
+    }
+
+    /**
+     * Stops recording the commands sent by the current thread.
+     *
+     * @return the recorded metrics, or null if nothing was being recorded
+     */
+    public static CommandMetrics stop() {
+        CommandMetrics metrics = CURRENT.get();
+        CURRENT.remove();
+        return metrics;
+    }
+
+    /**
+     * @return true if the current thread is recording its commands, false otherwise
+     */
+    public static boolean isRecording() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Records a command sent by the current thread, if a recording is started.
+     *
+     * @param operation    the page-object operation that sent the command, e.g., "LoginPage.login"
+     * @param command      the command, e.g., "WebElement.click"
+     * @param latencyNanos how long the command took, in nanoseconds
+     */
+    public static void record(String operation, String command, long latencyNanos) {
+        CommandMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.allCommands.record(latencyNanos);
+            metrics.operations.computeIfAbsent(operation, name -> new Operation()).record(command, latencyNanos);
+        }
+    }
+
+    /**
+     * Records the time the current thread spent waiting for a condition, if a recording is started.
+     *
+     * @param operation the page-object operation that waited, e.g., "HeaderSection.clickCartIcon"
+     * @param waitNanos how long the wait took, in nanoseconds
+     */
+    public static void recordWait(String operation, long waitNanos) {
+        CommandMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.waits.computeIfAbsent(operation, name -> new LatencyHistogram()).record(waitNanos);
+        }
+    }
+
+    /**
+     * Finds the outermost page-object or utility method on the stack, which is the operation called by the test.
+     *
+     * @return the operation as "ClassName.methodName", or "Test code" if the test sent the command directly
+     */
+    public static String callingOperation() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> {
+                    String className = frame.getClassName();
+                    return className.startsWith(PROJECT_PACKAGE)
+                            && !className.startsWith(PROJECT_PACKAGE + "tests.")
+                            && !className.startsWith(PROJECT_PACKAGE + "factories.")
+                            && !className.startsWith(PROJECT_PACKAGE + "extensions.");
+                })
+                .reduce((inner, outer) -> outer)
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+                })
+                .orElse("Test code"));
+    }
+
+    /**
+     * Returns the number of commands sent by a page-object operation.
+     *
+     * @param operation the page-object operation, e.g., "LoginPage.login"
+     * @return the number of commands, 0 if the operation sent none
+     */
+    public long getCommandCount(String operation) {
+        Operation recordedOperation = operations.get(operation);
+        return recordedOperation == null ? 0 : recordedOperation.latency.getCount();
+    }
+
+    /**
+     * Returns the metrics as a structure suitable to be exported as JSON.
+     *
+     * @return the totals of the test, the count and latency histogram of every operation and command,
+     * and the wait time histogram of every operation
+     */
+    public Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commands", allCommands.toSummary());
+
+        Map<String, Object> operationsReport = new LinkedHashMap<>();
+        for (Map.Entry<String, Operation> operation : operations.entrySet()) {
+            Map<String, Object> operationReport = new LinkedHashMap<>(operation.getValue().latency.toSummary());
+            Map<String, Object> commandsReport = new LinkedHashMap<>();
+            for (Map.Entry<String, LatencyHistogram> command : operation.getValue().commands.entrySet()) {
+                commandsReport.put(command.getKey(), command.getValue().toSummary());
+            }
+            operationReport.put("commands", commandsReport);
+            operationsReport.put(operation.getKey(), operationReport);
+        }
+        report.put("operations", operationsReport);
+
+        Map<String, Object> waitsReport = new LinkedHashMap<>();
+        for (Map.Entry<String, LatencyHistogram> wait : waits.entrySet()) {
+            waitsReport.put(wait.getKey(), wait.getValue().toSummary());
+        }
+        report.put("waits", waitsReport);
+        return report;
+    }
+
+    private static class Operation {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final Map<String, LatencyHistogram> commands = new TreeMap<>();
+
+        private void record(String command, long latencyNanos) {
+            latency.record(latencyNanos);
+            commands.computeIfAbsent(command, name -> new LatencyHistogram()).record(latencyNanos);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package saucedemo.uitesting.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import saucedemo.uitesting.config.ConfigurationLoader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fills the input fields of a form with the "inputStrategy" configuration.
+ * With the "sendKeys" strategy every field is typed one character at a time through the driver, like a user would.
+ * With the "script" strategy all the fields are set with a single script execution: the value goes through the
+ * native value setter of the element, so React's controlled inputs see the change, then the input and change events
+ * are fired. The values are read back in the same script, and a field the application did not keep is typed again
+ * with sendKeys.
+ *
+ * <pre>
+ * new FormFiller(driver)
+ *         .field(usernameField, "standard_user")
+ *         .field(passwordField, "secret_sauce")
+ *         .fill();
+ * </pre>
+ */
+public class FormFiller {
+
+    // Sets every value with the native setter and fires the events React listens to, then reads the values back
+    private static final String FILL_SCRIPT =
+            "var fields = arguments[0], values = arguments[1];" +
+            "fields.forEach(function (field, i) {" +
+            "  var setter = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(field), 'value').set;" +
+            "  setter.call(field, values[i]);" +
+            "  field.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "  field.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "});" +
+            "return fields.map(function (field) { return field.value; });";
+
+    private final WebDriver driver;
+    private final List<WebElement> fields = new ArrayList<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Constructor to set the WebDriver instance the form is displayed in.
+     *
+     * @param driver the WebDriver instance
+     */
+    public FormFiller(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Adds a field to fill.
+     *
+     * @param field the input element
+     * @param value the value to enter
+     * @return this form filler
+     */
+    public FormFiller field(WebElement field, String value) {
+        fields.add(field);
+        values.add(value);
+        return this;
+    }
+
+    /**
+     * Fills all the fields, in the order they were added, with the configured input strategy.
+     * The "sendKeys" strategy appends to the current value of the fields, the "script" strategy replaces it.
+     */
+    @SuppressWarnings("unchecked")
+    public void fill() {
+        if (fields.isEmpty()) {
+            return;
+        }
+        if (!"script".equals(ConfigurationLoader.getConfiguration().getInputStrategy())) {
+            for (int i = 0; i < fields.size(); i++) {
+                typeValue(i);
+            }
+            return;
+        }
+
+        List<Object> actualValues = (List<Object>) ((JavascriptExecutor) driver)
+                .executeScript(FILL_SCRIPT, fields, values);
+        for (int i = 0; i < fields.size(); i++) {
+            if (!values.get(i).equals(actualValues.get(i))) {
+                // The application did not keep the scripted value, type it like a user would
+                fields.get(i).clear();
+                typeValue(i);
+            }
+        }
+    }
+
+    /**
+     * Empties all the fields with a single script execution, whatever the input strategy.
+     * WebElement.clear does not fire the events React listens to, so the application would keep the old values.
+     * The values given with {@link #field(WebElement, String)} are ignored.
+     */
+    public void clear() {
+        if (fields.isEmpty()) {
+            return;
+        }
+        ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT, fields, Collections.nCopies(fields.size(), ""));
+    }
+
+    private void typeValue(int index) {
+        if (!values.get(index).isEmpty()) {
+            fields.get(index).sendKeys(values.get(index));
+        }
+    }
+}
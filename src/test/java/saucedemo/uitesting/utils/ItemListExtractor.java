@@ -0,0 +1,115 @@
+package saucedemo.uitesting.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import saucedemo.uitesting.models.Item;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Reads a list of Item objects from any page with tabular content.
+ * A row selector and one selector per Item field describe the list, and the whole list is read
+ * with a single script execution, no matter how many rows it has.
+ *
+ * <pre>
+ * ItemListExtractor extractor = new ItemListExtractor.Builder(".cart_item")
+ *         .field(ItemListExtractor.Field.NAME, ".inventory_item_name")
+ *         .field(ItemListExtractor.Field.PRICE, ".inventory_item_price")
+ *         .build();
+ * List&lt;Item&gt; items = extractor.extract(driver);
+ * </pre>
+ */
+public class ItemListExtractor {
+
+    // Reads the text of every field selector inside every row, missing fields are returned as null
+    private static final String EXTRACT_SCRIPT =
+            "var selectors = arguments[1];" +
+            "return Array.prototype.map.call(document.querySelectorAll(arguments[0]), function (row) {" +
+            "  return selectors.map(function (selector) {" +
+            "    var element = row.querySelector(selector);" +
+            "    return element ? element.innerText.trim() : null;" +
+            "  });" +
+            "});";
+
+    /**
+     * The Item fields that can be extracted, each one mapped to its Item.Builder method.
+     */
+    public enum Field {
+        NAME(Item.Builder::name),
+        DESCRIPTION(Item.Builder::description),
+        PRICE(Item.Builder::price),
+        BUTTON_TEXT(Item.Builder::buttonText),
+        QUANTITY(Item.Builder::quantity);
+
+        private final BiFunction<Item.Builder, String, Item.Builder> setter;
+
+        Field(BiFunction<Item.Builder, String, Item.Builder> setter) {
+            this.setter = setter;
+        }
+    }
+
+    private final String rowSelector;
+    private final List<Field> fields;
+    private final List<String> fieldSelectors;
+
+    private ItemListExtractor(Builder builder) {
+        this.rowSelector = builder.rowSelector;
+        this.fields = Collections.unmodifiableList(new ArrayList<>(builder.fieldSelectors.keySet()));
+        this.fieldSelectors = Collections.unmodifiableList(new ArrayList<>(builder.fieldSelectors.values()));
+    }
+
+    /**
+     * Reads all the rows currently displayed with a single script execution.
+     *
+     * @param driver the WebDriver instance
+     * @return an unmodifiable list of Item objects, in the order of the rows
+     */
+    @SuppressWarnings("unchecked")
+    public List<Item> extract(WebDriver driver) {
+        List<List<String>> rows = (List<List<String>>) ((JavascriptExecutor) driver)
+                .executeScript(EXTRACT_SCRIPT, rowSelector, fieldSelectors);
+
+        List<Item> items = new ArrayList<>(rows.size());
+        for (List<String> row : rows) {
+            Item.Builder itemBuilder = new Item.Builder();
+            for (int i = 0; i < fields.size(); i++) {
+                fields.get(i).setter.apply(itemBuilder, row.get(i));
+            }
+            items.add(itemBuilder.build());
+        }
+        return Collections.unmodifiableList(items);
+    }
+
+    public static class Builder {
+        private final String rowSelector;
+        private final Map<Field, String> fieldSelectors = new EnumMap<>(Field.class);
+
+        /**
+         * @param rowSelector the CSS selector matching every row of the list
+         */
+        public Builder(String rowSelector) {
+            this.rowSelector = rowSelector;
+        }
+
+        /**
+         * Maps an Item field to the CSS selector of its element, relative to the row.
+         *
+         * @param field    the Item field
+         * @param selector the CSS selector of the element holding the field text
+         * @return this Builder
+         */
+        public Builder field(Field field, String selector) {
+            fieldSelectors.put(field, selector);
+            return this;
+        }
+
+        public ItemListExtractor build() {
+            return new ItemListExtractor(this);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package saucedemo.uitesting.utils;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import saucedemo.uitesting.models.Item;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This class contains unit tests of the ItemListExtractor, run against a fake driver returning the rows
+ * the extraction script would read, so no browser is needed.
+ */
+public class ItemListExtractorTests {
+
+    private final List<List<Object>> scriptCalls = new ArrayList<>();
+
+    /**
+     * Test that every row becomes an Item, with the field texts in the order of the selectors given to the script.
+     */
+    @Test
+    public void extractsRowsInOrder() {
+        WebDriver driver = fakeDriver(Arrays.asList(
+                Arrays.asList("Sauce Labs Backpack", "$29.99", "1"),
+                Arrays.asList("Sauce Labs Bike Light", "$9.99", "2")));
+
+        List<Item> items = new ItemListExtractor.Builder(".cart_item")
+                .field(ItemListExtractor.Field.QUANTITY, ".cart_quantity")
+                .field(ItemListExtractor.Field.NAME, ".inventory_item_name")
+                .field(ItemListExtractor.Field.PRICE, ".inventory_item_price")
+                .build()
+                .extract(driver);
+
+        // The fields are read in the order of the Field enum, whatever the order they were added in
+        assertAll("Verify the extracted items",
+                () -> assertEquals(1, scriptCalls.size(), "The list should be read with a single script"),
+                () -> assertEquals(".cart_item", scriptCalls.get(0).get(0)),
+                () -> assertEquals(Arrays.asList(".inventory_item_name", ".inventory_item_price", ".cart_quantity"),
+                        scriptCalls.get(0).get(1)),
+                () -> assertEquals(2, items.size()),
+                () -> assertEquals("Sauce Labs Backpack", items.get(0).getName()),
+                () -> assertEquals("$29.99", items.get(0).getPrice()),
+                () -> assertEquals("1", items.get(0).getQuantity()),
+                () -> assertEquals("Sauce Labs Bike Light", items.get(1).getName()),
+                () -> assertEquals(9.99, items.get(1).getPriceAsDouble()),
+                () -> assertEquals("2", items.get(1).getQuantity())
+        );
+    }
+
+    /**
+     * Test that a field missing from a row, and a field that was not requested, are left null.
+     */
+    @Test
+    public void missingFieldsAreNull() {
+        WebDriver driver = fakeDriver(Collections.singletonList(Arrays.asList("Sauce Labs Onesie", null)));
+
+        List<Item> items = new ItemListExtractor.Builder(".inventory_item")
+                .field(ItemListExtractor.Field.NAME, ".inventory_item_name")
+                .field(ItemListExtractor.Field.DESCRIPTION, ".inventory_item_desc")
+                .build()
+                .extract(driver);
+
+        assertAll("Verify the extracted item",
+                () -> assertEquals("Sauce Labs Onesie", items.get(0).getName()),
+                () -> assertNull(items.get(0).getDescription()),
+                () -> assertNull(items.get(0).getPrice()),
+                () -> assertNull(items.get(0).getButtonText())
+        );
+    }
+
+    /**
+     * Test that a page without rows gives an empty list, and that the list can't be modified.
+     */
+    @Test
+    public void emptyListIsUnmodifiable() {
+        WebDriver driver = fakeDriver(Collections.emptyList());
+
+        List<Item> items = new ItemListExtractor.Builder(".cart_item")
+                .field(ItemListExtractor.Field.NAME, ".inventory_item_name")
+                .build()
+                .extract(driver);
+
+        assertTrue(items.isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> items.add(new Item.Builder().build()));
+    }
+
+    /**
+     * Creates a driver whose executeScript records its arguments and returns the given rows.
+     * Any other command fails, the extractor must not need one.
+     */
+    private WebDriver fakeDriver(List<List<String>> rows) {
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class},
+                (proxy, method, args) -> {
+                    if (!"executeScript".equals(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    // executeScript(String script, Object... args)
+                    scriptCalls.add(Arrays.asList((Object[]) args[1]));
+                    return rows;
+                });
+    }
+}
@@ -0,0 +1,162 @@
+package saucedemo.uitesting.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This class contains unit tests of the bucket and percentile math of the LatencyHistogram, no browser is needed.
+ */
+public class LatencyHistogramTests {
+
+    /**
+     * Test that an empty histogram reports 0 for everything.
+     */
+    @Test
+    public void emptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertAll("Verify the empty histogram",
+                () -> assertEquals(0, histogram.getCount()),
+                () -> assertEquals(0, histogram.getMinMillis()),
+                () -> assertEquals(0, histogram.getMeanMillis()),
+                () -> assertEquals(0, histogram.getPercentileMillis(50)),
+                () -> assertEquals(0, histogram.getMaxMillis())
+        );
+    }
+
+    /**
+     * Test that latencies below 16 microseconds each have their own bucket, so their percentiles are exact.
+     */
+    @Test
+    public void smallLatenciesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10; micros++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+
+        assertAll("Verify the percentiles of 1 to 10 microseconds",
+                () -> assertEquals(0.001, histogram.getPercentileMillis(0)),
+                () -> assertEquals(0.005, histogram.getPercentileMillis(50)),
+                () -> assertEquals(0.010, histogram.getPercentileMillis(95)),
+                () -> assertEquals(0.010, histogram.getPercentileMillis(100)),
+                () -> assertEquals(0.001, histogram.getMinMillis()),
+                () -> assertEquals(0.0055, histogram.getMeanMillis(), 1e-9),
+                () -> assertEquals(0.055, histogram.getTotalMillis(), 1e-9)
+        );
+    }
+
+    /**
+     * Test that a percentile is reported as the upper bound of its bucket, at most 1/16 above the latency.
+     */
+    @Test
+    public void percentileIsWithinBucketError() {
+        for (long micros = 16; micros < 10_000_000; micros = micros * 3 / 2 + 7) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+            // A larger latency keeps the percentile from being capped by the max
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(micros * 4));
+
+            long reportedMicros = Math.round(histogram.getPercentileMillis(50) * 1000);
+            assertTrue(reportedMicros >= micros && reportedMicros - micros <= micros / 16,
+                    "p50 of " + micros + " us is reported as " + reportedMicros + " us");
+        }
+    }
+
+    /**
+     * Test that a percentile is never reported above the largest recorded latency.
+     */
+    @Test
+    public void percentileIsCappedByMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(1000));
+
+        // 1000 us falls in the bucket from 992 us to 1023 us
+        assertEquals(1.0, histogram.getPercentileMillis(99));
+    }
+
+    /**
+     * Test that the rank of a percentile is rounded up over the recorded latencies.
+     */
+    @Test
+    public void percentileRank() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros : Arrays.asList(1L, 2L, 3L, 4L)) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+
+        assertAll("Verify the percentiles of 1 to 4 microseconds",
+                () -> assertEquals(0.001, histogram.getPercentileMillis(25)),
+                () -> assertEquals(0.002, histogram.getPercentileMillis(26)),
+                () -> assertEquals(0.002, histogram.getPercentileMillis(50)),
+                () -> assertEquals(0.004, histogram.getPercentileMillis(99))
+        );
+    }
+
+    /**
+     * Test that adding a histogram merges its counts, total, min and max.
+     */
+    @Test
+    public void addMergesHistograms() {
+        LatencyHistogram first = new LatencyHistogram();
+        first.record(TimeUnit.MICROSECONDS.toNanos(5));
+        first.record(TimeUnit.MICROSECONDS.toNanos(7));
+        LatencyHistogram second = new LatencyHistogram();
+        second.record(TimeUnit.MICROSECONDS.toNanos(2));
+        second.record(TimeUnit.MICROSECONDS.toNanos(12));
+
+        first.add(second);
+
+        assertAll("Verify the merged histogram",
+                () -> assertEquals(4, first.getCount()),
+                () -> assertEquals(0.026, first.getTotalMillis(), 1e-9),
+                () -> assertEquals(0.002, first.getMinMillis()),
+                () -> assertEquals(0.012, first.getMaxMillis()),
+                () -> assertEquals(0.005, first.getPercentileMillis(50)),
+                () -> assertEquals(2, second.getCount())
+        );
+    }
+
+    /**
+     * Test that negative latencies are recorded as 0 and sub-microsecond latencies are truncated.
+     */
+    @Test
+    public void latenciesBelowOneMicrosecond() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(999);
+
+        assertAll("Verify the latencies below one microsecond",
+                () -> assertEquals(2, histogram.getCount()),
+                () -> assertEquals(0, histogram.getMaxMillis()),
+                () -> assertEquals(0, histogram.getPercentileMillis(100))
+        );
+    }
+
+    /**
+     * Test the keys and the rounding of the summary exported as JSON.
+     */
+    @Test
+    public void summary() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(2));
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(4));
+
+        Map<String, Object> summary = histogram.toSummary();
+
+        assertAll("Verify the summary",
+                () -> assertEquals(Arrays.asList("count", "totalMs", "minMs", "meanMs", "p50Ms", "p95Ms", "p99Ms",
+                        "maxMs"), Arrays.asList(summary.keySet().toArray())),
+                () -> assertEquals(2L, summary.get("count")),
+                () -> assertEquals(0.003, summary.get("meanMs")),
+                () -> assertEquals(0.002, summary.get("p50Ms")),
+                () -> assertEquals(0.004, summary.get("p99Ms"))
+        );
+    }
+}
@@ -0,0 +1,227 @@
+package saucedemo.uitesting.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import saucedemo.uitesting.config.TestConfiguration;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * An embedded HTTP server standing in for saucedemo, so the tests don't depend on the public site.
+ * SauceDemo keeps all its state in the browser, so serving its static assets is enough to run the tests.
+ * <ul>
+ *     <li>In "replay" mode assets are served from the recorded archive directory only.</li>
+ *     <li>In "record" mode assets missing from the archive are fetched from the live site and saved to the archive.</li>
+ * </ul>
+ * Client-side routes that are not in the archive, like /inventory.html, are answered with the index.html of the app.
+ * The archive is not committed, it is recorded once online. Replay fails right away if the archive misses a file
+ * every run needs, and an asset the live site fails to serve while recording is answered with a 502 error.
+ */
+public class LocalSaucedemoServer {
+
+    private static final String LIVE_URL = "https://www.saucedemo.com";
+
+    // The app itself, and the small document LoginPage.loginWithSession sets the session cookie on
+    private static final List<String> REQUIRED_FILES = Arrays.asList("index.html", "favicon.ico");
+
+    private static final Map<String, String> CONTENT_TYPES = new HashMap<>();
+
+    static {
+        CONTENT_TYPES.put("html", "text/html; charset=utf-8");
+        CONTENT_TYPES.put("js", "application/javascript; charset=utf-8");
+        CONTENT_TYPES.put("css", "text/css; charset=utf-8");
+        CONTENT_TYPES.put("json", "application/json; charset=utf-8");
+        CONTENT_TYPES.put("txt", "text/plain; charset=utf-8");
+        CONTENT_TYPES.put("map", "application/json; charset=utf-8");
+        CONTENT_TYPES.put("svg", "image/svg+xml");
+        CONTENT_TYPES.put("png", "image/png");
+        CONTENT_TYPES.put("jpg", "image/jpeg");
+        CONTENT_TYPES.put("ico", "image/x-icon");
+        CONTENT_TYPES.put("woff", "font/woff");
+        CONTENT_TYPES.put("woff2", "font/woff2");
+        CONTENT_TYPES.put("ttf", "font/ttf");
+    }
+
+    private static LocalSaucedemoServer instance;
+
+    private final HttpServer server;
+    private final Path archiveDirectory;
+    private final boolean recording;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private LocalSaucedemoServer(Path archiveDirectory, boolean recording) throws IOException {
+        this.archiveDirectory = archiveDirectory;
+        this.recording = recording;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-saucedemo");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Starts the local server once per JVM when the "saucedemoMode" configuration is "replay" or "record",
+     * and points the base URL of the configuration to it. Does nothing in "live" mode.
+     *
+     * @param config the test configuration
+     */
+    public static synchronized void startIfEnabled(TestConfiguration config) {
+        if (instance != null || "live".equals(config.getSaucedemoMode())) {
+            return;
+        }
+
+        Path archiveDirectory = Paths.get(config.getSaucedemoArchive()).toAbsolutePath().normalize();
+        boolean recording = "record".equals(config.getSaucedemoMode());
+        if (!recording) {
+            List<String> missingFiles = REQUIRED_FILES.stream()
+                    .filter(file -> !Files.isRegularFile(archiveDirectory.resolve(file)))
+                    .collect(Collectors.toList());
+            if (!missingFiles.isEmpty()) {
+                throw new IllegalStateException("SauceDemo archive not found or incomplete: " + archiveDirectory
+                        + ", missing " + missingFiles
+                        + "\n Run the tests once online with -DsaucedemoMode=record to create it");
+            }
+        }
+
+        try {
+            LocalSaucedemoServer localServer = new LocalSaucedemoServer(archiveDirectory, recording);
+            if (recording) {
+                // Headless browsers never ask for the favicon, the files every replay needs are recorded up front
+                for (String file : REQUIRED_FILES) {
+                    if (!Files.isRegularFile(archiveDirectory.resolve(file))) {
+                        localServer.record("/" + file, archiveDirectory.resolve(file));
+                    }
+                }
+            }
+            localServer.server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> localServer.server.stop(0)));
+            instance = localServer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        config.setBaseUrl("http://127.0.0.1:" + instance.server.getAddress().getPort() + "/");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if (path.endsWith("/")) {
+                path += "index.html";
+            }
+
+            Path file = archiveDirectory.resolve(path.substring(1)).normalize();
+            if (!file.startsWith(archiveDirectory)) {
+                respond(exchange, 403, null, null);
+                return;
+            }
+
+            if (!Files.isRegularFile(file) && recording) {
+                try {
+                    record(path, file);
+                } catch (IOException e) {
+                    // The page breaks visibly, instead of a recording silently missing the asset
+                    respond(exchange, 502, CONTENT_TYPES.get("txt"), e.getMessage().getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+            }
+            if (!Files.isRegularFile(file) && isClientSideRoute(path)) {
+                file = archiveDirectory.resolve("index.html");
+            }
+
+            if (Files.isRegularFile(file)) {
+                respond(exchange, 200, contentType(file), Files.readAllBytes(file));
+            } else {
+                respond(exchange, 404, null, null);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Fetches an asset from the live site and saves it to the archive, if the site has it.
+     * The asset is written to a temporary file first, then moved in place, so a parallel request never
+     * reads a half-written asset.
+     *
+     * @throws IOException if the live site can't be reached or answers with an error other than 404
+     */
+    private void record(String path, Path file) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(LIVE_URL + path)).GET().build();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while recording " + path);
+        }
+        if (response.statusCode() == 404) {
+            // Not an asset of the site, e.g., a client-side route
+            return;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Could not record " + path + ", the live site answered " + response.statusCode());
+        }
+
+        Files.createDirectories(file.getParent());
+        Path temporaryFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporaryFile, response.body());
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // A parallel request recorded the same asset first
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    private static boolean isClientSideRoute(String path) {
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        return !fileName.contains(".") || fileName.endsWith(".html");
+    }
+
+    private static String contentType(Path file) {
+        String fileName = file.getFileName().toString();
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+}
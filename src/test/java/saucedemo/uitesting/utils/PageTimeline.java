@@ -0,0 +1,126 @@
+package saucedemo.uitesting.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Browser-side performance data collected by the page objects of one test, as a timeline of steps.
+ * A step holds the Navigation Timing and Paint Timing of the document if the page loaded it, or the time from
+ * the click to quiescence if the page was reached by a click within the document, and the resources loaded
+ * since the previous step. A recording is bound to the thread running the test,
+ * see {@link #start()}.
+ */
+public class PageTimeline {
+
+    private static final ThreadLocal<PageTimeline> CURRENT = new ThreadLocal<>();
+
+    private final List<Step> steps = new ArrayList<>();
+    private Double clickToQuiescence;
+
+    /**
+     * Starts recording the page performance of the current thread.
+     */
+    public static void start() {
+        CURRENT.set(new PageTimeline());
+    }
+
+    /**
+     * Stops recording the page performance of the current thread.
+     *
+     * @return the recorded timeline, or null if nothing was being recorded
+     */
+    public static PageTimeline stop() {
+        PageTimeline timeline = CURRENT.get();
+        CURRENT.remove();
+        return timeline;
+    }
+
+    /**
+     * @return true if the current thread is recording its page performance, false otherwise
+     */
+    public static boolean isRecording() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Adds a step to the timeline of the current thread, if a recording is started.
+     *
+     * @param page      the page object name, e.g., "InventoryPage"
+     * @param url       the url of the document
+     * @param timings   the navigation and paint timings, or the click to quiescence, in milliseconds, keyed by name
+     * @param resources the resource timing entries loaded since the previous step
+     */
+    public static void record(String page, String url, Map<String, Double> timings, List<Map<String, Object>> resources) {
+        PageTimeline timeline = CURRENT.get();
+        if (timeline != null) {
+            timeline.steps.add(new Step(page, url, timings, resources));
+        }
+    }
+
+    /**
+     * Keeps the time from the last click to quiescence of the current thread, for the next page recorded.
+     *
+     * @param millis the time from the click to quiescence in milliseconds
+     */
+    public static void recordClickToQuiescence(double millis) {
+        PageTimeline timeline = CURRENT.get();
+        if (timeline != null) {
+            timeline.clickToQuiescence = millis;
+        }
+    }
+
+    /**
+     * Returns and forgets the time from the last click to quiescence of the current thread.
+     *
+     * @return the time in milliseconds, or null if nothing was clicked since the last page recorded
+     */
+    public static Double takeClickToQuiescence() {
+        PageTimeline timeline = CURRENT.get();
+        if (timeline == null) {
+            return null;
+        }
+        Double millis = timeline.clickToQuiescence;
+        timeline.clickToQuiescence = null;
+        return millis;
+    }
+
+    public List<Step> getSteps() {
+        return Collections.unmodifiableList(steps);
+    }
+
+    /**
+     * One page displayed during the test.
+     */
+    public static class Step {
+        private final String page;
+        private final String url;
+        private final Map<String, Double> timings;
+        private final List<Map<String, Object>> resources;
+
+        private Step(String page, String url, Map<String, Double> timings, List<Map<String, Object>> resources) {
+            this.page = page;
+            this.url = url;
+            this.timings = Collections.unmodifiableMap(new LinkedHashMap<>(timings));
+            this.resources = Collections.unmodifiableList(new ArrayList<>(resources));
+        }
+
+        public String getPage() {
+            return page;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public Map<String, Double> getTimings() {
+            return timings;
+        }
+
+        public List<Map<String, Object>> getResources() {
+            return resources;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package saucedemo.uitesting.utils;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.firefox.HasFullPageScreenshot;
+import ru.yandex.qatools.ashot.AShot;
+import ru.yandex.qatools.ashot.shooting.ShootingStrategies;
+
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The supported ways of capturing a screenshot, selected with the "screenshotMode" configuration.
+ * Native strategies let the browser render the whole page at once, AShot scrolls and stitches
+ * viewport images together and is only used when nothing else works.
+ */
+public enum ScreenshotStrategy {
+
+    /**
+     * Full-page screenshot with Chrome DevTools Page.captureScreenshot and captureBeyondViewport.
+     */
+    CDP {
+        @Override
+        @SuppressWarnings("unchecked")
+        CapturedScreenshot capture(WebDriver driver) {
+            HasCdp cdp = unwrap(driver, HasCdp.class);
+            if (cdp == null) {
+                return null;
+            }
+
+            // cssContentSize is only reported by recent Chrome versions, older ones report contentSize
+            Map<String, Object> layoutMetrics = cdp.executeCdpCommand("Page.getLayoutMetrics", new HashMap<>());
+            Map<String, Object> contentSize = (Map<String, Object>) layoutMetrics.get("cssContentSize");
+            if (contentSize == null) {
+                contentSize = (Map<String, Object>) layoutMetrics.get("contentSize");
+            }
+            if (contentSize == null) {
+                return null;
+            }
+
+            Map<String, Object> clip = new HashMap<>();
+            clip.put("x", 0);
+            clip.put("y", 0);
+            clip.put("width", contentSize.get("width"));
+            clip.put("height", contentSize.get("height"));
+            clip.put("scale", 1);
+
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("format", "png");
+            parameters.put("captureBeyondViewport", true);
+            parameters.put("clip", clip);
+
+            Map<String, Object> screenshot = cdp.executeCdpCommand("Page.captureScreenshot", parameters);
+            return CapturedScreenshot.ofPng(Base64.getDecoder().decode((String) screenshot.get("data")));
+        }
+    },
+
+    /**
+     * Firefox native full-page screenshot.
+     */
+    FIREFOX {
+        @Override
+        CapturedScreenshot capture(WebDriver driver) {
+            HasFullPageScreenshot firefox = unwrap(driver, HasFullPageScreenshot.class);
+            if (firefox == null) {
+                return null;
+            }
+            return CapturedScreenshot.ofPng(firefox.getFullPageScreenshotAs(OutputType.BYTES));
+        }
+    },
+
+    /**
+     * Screenshot of the visible viewport only, supported by every browser.
+     */
+    VIEWPORT {
+        @Override
+        CapturedScreenshot capture(WebDriver driver) {
+            if (!(driver instanceof TakesScreenshot)) {
+                return null;
+            }
+            return CapturedScreenshot.ofPng(((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+        }
+    },
+
+    /**
+     * Full-page screenshot stitched from viewport images by AShot, slow but works everywhere.
+     */
+    ASHOT {
+        @Override
+        CapturedScreenshot capture(WebDriver driver) {
+            return CapturedScreenshot.ofImage(new AShot()
+                    .shootingStrategy(ShootingStrategies.viewportPasting(1000))
+                    .takeScreenshot(driver)
+                    .getImage());
+        }
+    };
+
+    /**
+     * Captures a screenshot with this strategy.
+     *
+     * @param driver the WebDriver instance to capture the screenshot from
+     * @return the captured screenshot, or null if the driver doesn't support this strategy
+     */
+    abstract CapturedScreenshot capture(WebDriver driver);
+
+    /**
+     * Selects the strategy for a screenshot mode. In "auto" mode the native full-page strategy of the browser is used.
+     *
+     * @param screenshotMode the screenshot mode, one of "auto", "cdp", "firefox", "viewport" or "ashot"
+     * @param browser        the browser of the test
+     * @return the strategy to use
+     */
+    static ScreenshotStrategy forMode(String screenshotMode, String browser) {
+        if ("auto".equals(screenshotMode)) {
+            switch (browser.toLowerCase()) {
+                case "chrome":
+                    return CDP;
+                case "firefox":
+                    return FIREFOX;
+                default:
+                    return ASHOT;
+            }
+        }
+        return valueOf(screenshotMode.toUpperCase());
+    }
+
+    /**
+     * Returns the outermost driver with a native browser feature, unwrapping decorated drivers that don't expose it.
+     * Decorators exposing the feature are kept, so a driver pinned to a tab of a shared browser captures its own tab.
+     *
+     * @return the driver with the feature, or null if there is none
+     */
+    private static <T> T unwrap(WebDriver driver, Class<T> feature) {
+        WebDriver unwrapped = driver;
+        while (!feature.isInstance(unwrapped) && unwrapped instanceof WrapsDriver) {
+            unwrapped = ((WrapsDriver) unwrapped).getWrappedDriver();
+        }
+        return feature.isInstance(unwrapped) ? feature.cast(unwrapped) : null;
+    }
+}
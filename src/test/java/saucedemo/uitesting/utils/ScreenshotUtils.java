@@ -1,46 +1,247 @@
 package saucedemo.uitesting.utils;
 
 import io.qameta.allure.Allure;
+import io.qameta.allure.AllureResultsWriteException;
 import org.openqa.selenium.WebDriver;
-import ru.yandex.qatools.ashot.AShot;
-import ru.yandex.qatools.ashot.Screenshot;
-import ru.yandex.qatools.ashot.shooting.ShootingStrategies;
+import org.openqa.selenium.WebDriverException;
+import saucedemo.uitesting.config.ConfigurationLoader;
+import saucedemo.uitesting.config.TestConfiguration;
 
-import javax.imageio.ImageIO;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class for capturing and attaching screenshots to Allure reports.
+ * The capture is done with the {@link ScreenshotStrategy} selected by the "screenshotMode" configuration,
+ * falling back to AShot if the selected strategy fails. Only the capture runs on the test thread.
+ * PNG encoding and writing the attachment through the Allure lifecycle run on a bounded background pool,
+ * and {@link #flushScreenshots()} waits for them at the end of the test, failing it if a screenshot was not written.
+ * <p>
+ * While buffering is started for the current thread, screenshots are kept in a small in-memory ring buffer
+ * instead of being attached, until the test decides to write or to discard them.
  */
 public class ScreenshotUtils {
 
+    // When the queue is full the test thread encodes the screenshot itself, which bounds the memory used
+    private static final ExecutorService ENCODER = new ThreadPoolExecutor(
+            2, 2, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16),
+            runnable -> {
+                Thread thread = new Thread(runnable, "screenshot-encoder");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    private static final ThreadLocal<List<Future<?>>> PENDING_SCREENSHOTS = ThreadLocal.withInitial(ArrayList::new);
+
+    private static final ThreadLocal<ScreenshotBuffer> SCREENSHOT_BUFFER = new ThreadLocal<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            ENCODER.shutdown();
+            try {
+                ENCODER.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+    }
+
     /**
-     * Takes a full-page screenshot of the provided WebDriver instance and attaches it to the Allure report.
+     * Takes a screenshot of the provided WebDriver instance and attaches it to the Allure report.
+     * The attachment is registered right away, its content is written in the background.
      *
      * @param driver         The WebDriver instance to capture the screenshot from.
      * @param attachmentName The name of the screenshot attachment in the Allure report.
      */
     public static void takeScreenshot(WebDriver driver, String attachmentName) {
-        // Capture the full-page screenshot using AShot
-        Screenshot screenshot = new AShot()
-                .shootingStrategy(ShootingStrategies.viewportPasting(1000))
-                .takeScreenshot(driver);
-
-        // Convert the captured screenshot to a byte array
-        byte[] screenshotBytes = null;
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
-            ImageIO.write(screenshot.getImage(), "PNG", byteArrayOutputStream);
-            byteArrayOutputStream.flush();
-            screenshotBytes = byteArrayOutputStream.toByteArray();
+        ScreenshotBuffer buffer = SCREENSHOT_BUFFER.get();
+        if (buffer != null) {
+            buffer.add(driver, attachmentName);
+            return;
+        }
+        attach(capture(driver), attachmentName);
+    }
+
+    /**
+     * Starts keeping the screenshots of the current thread in memory instead of attaching them.
+     *
+     * @param bufferSize the number of latest screenshots to keep, with 0 only the latest screenshot name is kept
+     */
+    public static void startBuffering(int bufferSize) {
+        SCREENSHOT_BUFFER.set(new ScreenshotBuffer(bufferSize));
+    }
+
+    /**
+     * Attaches the buffered screenshots of the current thread and a screenshot of the current state of the page,
+     * then stops buffering.
+     *
+     * @param driver the WebDriver instance to capture the current state from, may be null if there is none
+     */
+    public static void writeBufferedScreenshots(WebDriver driver) {
+        ScreenshotBuffer buffer = SCREENSHOT_BUFFER.get();
+        SCREENSHOT_BUFFER.remove();
+        if (buffer == null) {
+            return;
+        }
+
+        for (BufferedScreenshot bufferedScreenshot : buffer.screenshots) {
+            attach(bufferedScreenshot.screenshot, bufferedScreenshot.name);
+        }
+
+        if (driver != null) {
+            String attachmentName = buffer.lastName == null ? "Failure" : "Failure (after " + buffer.lastName + ")";
+            try {
+                attach(capture(driver), attachmentName);
+            } catch (WebDriverException e) {
+                // The browser is gone, the buffered screenshots are all there is
+            }
+        }
+    }
+
+    /**
+     * Drops the buffered screenshots of the current thread and stops buffering.
+     */
+    public static void discardBufferedScreenshots() {
+        SCREENSHOT_BUFFER.remove();
+    }
+
+    /**
+     * Registers a screenshot in the running test and writes its content in the background.
+     *
+     * @param screenshot     the screenshot to attach
+     * @param attachmentName the name of the screenshot attachment in the Allure report
+     */
+    private static void attach(CapturedScreenshot screenshot, String attachmentName) {
+        // Register the attachment in the running test, Allure keeps track of the test per thread
+        String source = Allure.getLifecycle().prepareAttachment(attachmentName, "image/png", "png");
+
+        // Encode and write the screenshot in the background
+        PENDING_SCREENSHOTS.get().add(ENCODER.submit(() -> writePng(screenshot, source, attachmentName)));
+    }
+
+    /**
+     * Captures a screenshot with the configured strategy, or with AShot if that strategy fails.
+     *
+     * @param driver the WebDriver instance to capture the screenshot from
+     * @return the captured screenshot
+     */
+    private static CapturedScreenshot capture(WebDriver driver) {
+        TestConfiguration config = ConfigurationLoader.getConfiguration();
+        ScreenshotStrategy strategy = ScreenshotStrategy.forMode(config.getScreenshotMode(), config.getBrowser());
+        if (strategy != ScreenshotStrategy.ASHOT) {
+            try {
+                CapturedScreenshot screenshot = strategy.capture(driver);
+                if (screenshot != null) {
+                    return screenshot;
+                }
+            } catch (WebDriverException e) {
+                // The browser failed to capture with this strategy
+            }
+        }
+        // The strategy is not supported by the driver, or failed: AShot works with any driver
+        return ScreenshotStrategy.ASHOT.capture(driver);
+    }
+
+    /**
+     * Waits until all the screenshots taken by the current thread are written to the Allure results.
+     *
+     * @throws IllegalStateException if a screenshot could not be written, its attachment would point at no file
+     */
+    public static void flushScreenshots() {
+        List<Future<?>> pendingScreenshots = PENDING_SCREENSHOTS.get();
+        IllegalStateException failure = null;
+        try {
+            for (Future<?> pendingScreenshot : pendingScreenshots) {
+                try {
+                    pendingScreenshot.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = new IllegalStateException("Screenshots could not be written to the Allure results",
+                                e.getCause());
+                    } else {
+                        failure.addSuppressed(e.getCause());
+                    }
+                }
+            }
+        } finally {
+            pendingScreenshots.clear();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Encodes a screenshot as PNG and writes it as the content of its attachment, to the results directory
+     * resolved by Allure.
+     *
+     * @param screenshot     the screenshot to write
+     * @param source         the attachment source returned by Allure when the attachment was registered
+     * @param attachmentName the name of the screenshot attachment, for the error message
+     */
+    private static void writePng(CapturedScreenshot screenshot, String source, String attachmentName) {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        try {
+            screenshot.writePng(png);
         } catch (IOException e) {
-            e.printStackTrace();
+            throw new UncheckedIOException("Screenshot " + attachmentName + " could not be encoded", e);
+        }
+        try {
+            Allure.getLifecycle().writeAttachment(source, new ByteArrayInputStream(png.toByteArray()));
+        } catch (AllureResultsWriteException e) {
+            throw new IllegalStateException("Screenshot " + attachmentName + " could not be written", e);
+        }
+    }
+
+    private static class BufferedScreenshot {
+        private final String name;
+        private final CapturedScreenshot screenshot;
+
+        private BufferedScreenshot(String name, CapturedScreenshot screenshot) {
+            this.name = name;
+            this.screenshot = screenshot;
+        }
+    }
+
+    /**
+     * Ring buffer with the latest screenshots of a test, the oldest one is dropped when it's full.
+     */
+    private static class ScreenshotBuffer {
+        private final int size;
+        private final Deque<BufferedScreenshot> screenshots;
+        private String lastName;
+
+        private ScreenshotBuffer(int size) {
+            this.size = size;
+            this.screenshots = new ArrayDeque<>(size);
         }
 
-        // Attach the screenshot to Allure
-        if (screenshotBytes != null) {
-            Allure.addAttachment(attachmentName, new ByteArrayInputStream(screenshotBytes));
+        private void add(WebDriver driver, String name) {
+            lastName = name;
+            if (size == 0) {
+                return;
+            }
+            if (screenshots.size() == size) {
+                screenshots.removeFirst();
+            }
+            screenshots.addLast(new BufferedScreenshot(name, capture(driver)));
         }
     }
 }
@@ -0,0 +1,107 @@
+package saucedemo.uitesting.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import saucedemo.uitesting.models.TestData;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Registry of all the test data files, the "*_data.json" files under src/test/resources.
+ * The directory is scanned once per JVM, the first time test data is requested, and every file is parsed once,
+ * the first time its test data is requested, into an immutable {@link TestData}. Lookups by name are then
+ * constant time, from any thread. A malformed file only fails the lookups of its own test data.
+ */
+public class TestDataRegistry {
+
+    private static final Path TEST_DATA_DIRECTORY = Paths.get("src", "test", "resources");
+    private static final String TEST_DATA_SUFFIX = "_data.json";
+    private static final ObjectReader READER = new ObjectMapper().readerFor(TestData.class);
+    private static final Map<String, TestData> TEST_DATA = new ConcurrentHashMap<>();
+
+    private TestDataRegistry() {
+    }
+
+    // Initialized once, by the first thread requesting test data. A failed scan is kept, not thrown,
+    // so every lookup reports it instead of a NoClassDefFoundError after the first one
+    private static class Holder {
+        private static final Map<String, List<Path>> FILES;
+        private static final IOException SCAN_FAILURE;
+
+        static {
+            Map<String, List<Path>> files = Collections.emptyMap();
+            IOException scanFailure = null;
+            try {
+                files = scan();
+            } catch (IOException e) {
+                scanFailure = e;
+            }
+            FILES = files;
+            SCAN_FAILURE = scanFailure;
+        }
+    }
+
+    /**
+     * Returns the test data of a data file.
+     *
+     * @param name the name of the data file without the "_data.json" suffix, e.g., "purchase_flow"
+     * @return the test data
+     * @throws IllegalArgumentException if there is no such data file
+     * @throws IllegalStateException    if several data files have this name
+     * @throws UncheckedIOException     if the data file is malformed or the directory can't be scanned
+     */
+    public static TestData get(String name) {
+        // A failed parse is not cached, every lookup of a malformed file fails with the same message
+        return TEST_DATA.computeIfAbsent(name, TestDataRegistry::load);
+    }
+
+    private static TestData load(String name) {
+        if (Holder.SCAN_FAILURE != null) {
+            throw new UncheckedIOException("Test data directory could not be scanned: " + TEST_DATA_DIRECTORY,
+                    Holder.SCAN_FAILURE);
+        }
+        List<Path> files = Holder.FILES.get(name);
+        if (files == null) {
+            throw new IllegalArgumentException("Unknown test data: " + name
+                    + "\n Available test data: " + String.join("|", new TreeSet<>(Holder.FILES.keySet())) + " ");
+        }
+        if (files.size() > 1) {
+            throw new IllegalStateException("Several test data files named " + name + ": " + files);
+        }
+        return read(files.get(0));
+    }
+
+    private static Map<String, List<Path>> scan() throws IOException {
+        try (Stream<Path> files = Files.walk(TEST_DATA_DIRECTORY)) {
+            // Two files with the same name in different directories are kept, their lookups are rejected
+            return Collections.unmodifiableMap(files
+                    .filter(file -> file.getFileName().toString().endsWith(TEST_DATA_SUFFIX))
+                    .filter(Files::isRegularFile)
+                    .collect(Collectors.groupingBy(TestDataRegistry::name)));
+        }
+    }
+
+    private static String name(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.substring(0, fileName.length() - TEST_DATA_SUFFIX.length());
+    }
+
+    private static TestData read(Path file) {
+        try {
+            return READER.readValue(file.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invalid test data file: " + file, e);
+        }
+    }
+}
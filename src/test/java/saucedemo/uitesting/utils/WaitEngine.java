@@ -0,0 +1,139 @@
+package saucedemo.uitesting.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Waits for conditions on one driver with an adaptive polling interval. There is one engine per driver,
+ * shared by all the page objects of the driver.
+ * The condition is checked immediately, then polled with an exponential backoff from 5 ms up to 200 ms,
+ * so an element that is already there costs a single round trip and one that shows up after a few
+ * milliseconds is not held back by a fixed polling tick. Conditions on a locator don't depend on the driver,
+ * so they are created once per JVM and reused by every engine.
+ * When command metrics are recorded, the time spent waiting is recorded in {@link CommandMetrics} under
+ * the page-object operation that waited, the operation is only looked up then.
+ */
+public class WaitEngine {
+
+    private static final long INITIAL_POLL_MILLIS = 5;
+    private static final long MAX_POLL_MILLIS = 200;
+
+    private static final Map<By, ExpectedCondition<WebElement>> VISIBILITY_CONDITIONS = new ConcurrentHashMap<>();
+
+    // The engines only reference their driver weakly, so an engine never keeps a quit driver in the registry
+    private static final Map<WebDriver, WaitEngine> ENGINES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WeakReference<WebDriver> driver;
+
+    private WaitEngine(WebDriver driver) {
+        this.driver = new WeakReference<>(driver);
+    }
+
+    /**
+     * Returns the wait engine of a driver, created the first time it is requested.
+     *
+     * @param driver the WebDriver instance
+     * @return the wait engine of the driver
+     */
+    public static WaitEngine of(WebDriver driver) {
+        return ENGINES.computeIfAbsent(driver, WaitEngine::new);
+    }
+
+    /**
+     * Waits for an element to be visible.
+     *
+     * @param locator the locator for the element
+     * @param timeout the maximum time to wait
+     * @return the visible WebElement
+     * @throws TimeoutException if the element is not visible before the timeout
+     */
+    public WebElement visible(By locator, Duration timeout) {
+        return until(VISIBILITY_CONDITIONS.computeIfAbsent(locator, ExpectedConditions::visibilityOfElementLocated),
+                timeout);
+    }
+
+    /**
+     * Waits for an element to be visible and enabled.
+     *
+     * @param element the WebElement
+     * @param timeout the maximum time to wait
+     * @return the clickable WebElement
+     * @throws TimeoutException if the element is not clickable before the timeout
+     */
+    public WebElement clickable(WebElement element, Duration timeout) {
+        return until(ExpectedConditions.elementToBeClickable(element), timeout);
+    }
+
+    /**
+     * Waits until a condition returns neither null nor false.
+     * Elements not found or gone stale while checking the condition are retried until the timeout.
+     *
+     * @param condition the condition to check
+     * @param timeout   the maximum time to wait
+     * @param <T>       the type of the condition result
+     * @return the result of the condition
+     * @throws TimeoutException if the condition is not met before the timeout
+     */
+    public <T> T until(Function<? super WebDriver, T> condition, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long pollMillis = INITIAL_POLL_MILLIS;
+        RuntimeException lastException = null;
+        try {
+            while (true) {
+                try {
+                    T result = condition.apply(driver());
+                    if (result != null && !Boolean.FALSE.equals(result)) {
+                        return result;
+                    }
+                } catch (NotFoundException | StaleElementReferenceException e) {
+                    lastException = e;
+                }
+
+                long remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+                if (remainingMillis <= 0) {
+                    throw new TimeoutException("Expected condition failed: waiting for " + condition
+                            + " (tried for " + timeout.toMillis() + " ms)", lastException);
+                }
+                sleep(Math.min(pollMillis, remainingMillis));
+                pollMillis = Math.min(pollMillis * 2, MAX_POLL_MILLIS);
+            }
+        } finally {
+            if (CommandMetrics.isRecording()) {
+                CommandMetrics.recordWait(CommandMetrics.callingOperation(), System.nanoTime() - start);
+            }
+        }
+    }
+
+    private WebDriver driver() {
+        WebDriver currentDriver = driver.get();
+        if (currentDriver == null) {
+            // Only possible if the engine is kept after every page object of its driver
+            throw new IllegalStateException("The driver of this wait engine is gone");
+        }
+        return currentDriver;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+}
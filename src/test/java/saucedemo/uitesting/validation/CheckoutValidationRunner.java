@@ -0,0 +1,145 @@
+package saucedemo.uitesting.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.TimeoutException;
+import saucedemo.uitesting.models.CheckoutValidationCase;
+import saucedemo.uitesting.page_objects.pages.CheckoutStepOnePage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs checkout information validation cases on a single Checkout Step One page, without navigating between cases.
+ * Every case clears the form, enters its information, submits it and waits for its outcome: the validation error,
+ * which is closed right away, or the Checkout Step Two page, which is left through the client-side history.
+ * A submission with no visible outcome is reported as undetermined and the form is opened again, so one misread case
+ * never spoils the verdicts of the next ones. The verdict of every case is written to the report as one JSON line as soon as it is known,
+ * so neither the cases nor the verdicts are held in memory.
+ *
+ * <pre>
+ * CheckoutValidationRunner.Summary summary = new CheckoutValidationRunner(checkoutStepOnePage)
+ *         .run(cases, reportWriter);
+ * </pre>
+ */
+public class CheckoutValidationRunner {
+
+    // Failed cases beyond this number are only counted, they are all in the report anyway
+    private static final int MAX_REPORTED_FAILURES = 20;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // The outcomes of a submission, as written in the report
+    private static final String REJECTED = "rejected";
+    private static final String ACCEPTED = "accepted";
+    private static final String UNDETERMINED = "undetermined";
+
+    private final CheckoutStepOnePage checkoutStepOnePage;
+
+    /**
+     * Constructor to set the page the cases are run on.
+     *
+     * @param checkoutStepOnePage the Checkout Step One page, currently displayed
+     */
+    public CheckoutValidationRunner(CheckoutStepOnePage checkoutStepOnePage) {
+        this.checkoutStepOnePage = checkoutStepOnePage;
+    }
+
+    /**
+     * Runs the cases one after the other, writing one JSON verdict per line to the report.
+     *
+     * @param cases  the cases to run, read as they are needed
+     * @param report the writer of the report, flushed but not closed
+     * @return the summary of the run
+     * @throws IOException if the report cannot be written
+     */
+    public Summary run(Iterator<CheckoutValidationCase> cases, Writer report) throws IOException {
+        Summary summary = new Summary();
+        while (cases.hasNext()) {
+            CheckoutValidationCase validationCase = cases.next();
+            String actualError = validate(validationCase);
+            boolean passed = validationCase.getExpectedError().equals(actualError);
+            String outcome = actualError == null ? UNDETERMINED : actualError.isEmpty() ? ACCEPTED : REJECTED;
+
+            Map<String, Object> verdict = new LinkedHashMap<>();
+            verdict.put("case", summary.cases);
+            verdict.put("firstName", validationCase.getFirstName());
+            verdict.put("lastName", validationCase.getLastName());
+            verdict.put("postalCode", validationCase.getPostalCode());
+            verdict.put("expectedError", validationCase.getExpectedError());
+            verdict.put("outcome", outcome);
+            verdict.put("actualError", actualError);
+            verdict.put("passed", passed);
+            report.write(OBJECT_MAPPER.writeValueAsString(verdict));
+            report.write("\n");
+            report.flush();
+
+            summary.record(validationCase, actualError, passed);
+        }
+        return summary;
+    }
+
+    /**
+     * Runs one case and returns the error shown, an empty string if the Checkout Step Two page was reached,
+     * or null if neither happened. The form is left ready for the next case in every outcome.
+     */
+    private String validate(CheckoutValidationCase validationCase) {
+        checkoutStepOnePage.clearInformation();
+        checkoutStepOnePage.enterInformation(validationCase.getFirstName(), validationCase.getLastName(),
+                validationCase.getPostalCode());
+        String actualError;
+        try {
+            actualError = checkoutStepOnePage.submitInformation();
+        } catch (TimeoutException e) {
+            // The page is in an unknown state, start the next case from a fresh form
+            checkoutStepOnePage.reopen();
+            return null;
+        }
+        if (actualError.isEmpty()) {
+            checkoutStepOnePage.returnFromNextStep();
+        }
+        return actualError;
+    }
+
+    /**
+     * The number of cases run and failed, with the description of the first failures.
+     */
+    public static class Summary {
+
+        private int cases;
+        private int failedCases;
+        private final List<String> failures = new ArrayList<>();
+
+        private void record(CheckoutValidationCase validationCase, String actualError, boolean passed) {
+            cases++;
+            if (passed) {
+                return;
+            }
+            failedCases++;
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(validationCase + " expected \"" + validationCase.getExpectedError() + "\" but "
+                        + (actualError == null ? "the submission had no outcome" : "was \"" + actualError + "\""));
+            }
+        }
+
+        public int getCases() {
+            return cases;
+        }
+
+        public int getFailedCases() {
+            return failedCases;
+        }
+
+        /**
+         * @return the description of the first failed cases, at most 20
+         */
+        public List<String> getFailures() {
+            return Collections.unmodifiableList(failures);
+        }
+    }
+}